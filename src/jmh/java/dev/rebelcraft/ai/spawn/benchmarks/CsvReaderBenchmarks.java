@@ -0,0 +1,60 @@
+package dev.rebelcraft.ai.spawn.benchmarks;
+
+import dev.rebelcraft.ai.spawn.utils.CsvReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read a whole MCP-server-shaped catalog with {@link CsvReader}.
+ * Divide the row count by the score for rows per millisecond.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvReaderBenchmarks {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("\"Name\",\"Icon\",\"Description\"\n");
+        for (int i = 0; i < rows; i++) {
+            builder.append("\"MCP Server ").append(i)
+                .append("\",\"https://avatars.example.com/u/").append(i)
+                .append("?v=4\",\"Benchmark server ").append(i)
+                .append(", with \"\"quoted\"\" text and a comma.\"\n");
+        }
+        csv = builder.toString();
+    }
+
+    @Benchmark
+    public int readCatalog() throws IOException {
+        int fields = 0;
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            String[] record;
+            while ((record = reader.readRecord()) != null) {
+                fields += record.length;
+            }
+        }
+        return fields;
+    }
+}
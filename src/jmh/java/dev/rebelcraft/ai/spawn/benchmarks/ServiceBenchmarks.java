@@ -0,0 +1,78 @@
+package dev.rebelcraft.ai.spawn.benchmarks;
+
+import dev.rebelcraft.ai.spawn.agents.AgentResponse;
+import dev.rebelcraft.ai.spawn.apps.ApplicationResponse;
+import dev.rebelcraft.ai.spawn.mcp.McpServerResponse;
+import dev.rebelcraft.ai.spawn.models.ModelResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the service calls that every page render goes through.
+ * Run with {@code -prof gc} (the profile default) to get allocations per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ServiceBenchmarks {
+
+    // Rotate through the fixture so no single row stays hot in caches
+    private int next;
+    private long token;
+
+    private int nextIndex(int bound) {
+        next = (next + 1) % bound;
+        return next;
+    }
+
+    @Benchmark
+    public ApplicationResponse applicationToResponse(SpawnFixture fixture) {
+        return fixture.applicationService.getApplicationById(
+            fixture.applicationIds.get(nextIndex(fixture.applicationIds.size())));
+    }
+
+    @Benchmark
+    public AgentResponse agentToResponse(SpawnFixture fixture) {
+        return fixture.agentService.getAgentById(
+            fixture.agentIds.get(nextIndex(fixture.agentIds.size())));
+    }
+
+    @Benchmark
+    public Optional<ModelResponse> modelByProvider(SpawnFixture fixture) {
+        return fixture.modelService.getModelByProvider(
+            fixture.providers.get(nextIndex(fixture.providers.size())));
+    }
+
+    @Benchmark
+    public List<McpServerResponse> allMcpServers(SpawnFixture fixture) {
+        return fixture.mcpServerService.getAllMcpServers();
+    }
+
+    // Same template and default inputs every time, so after warmup this is an output cache hit
+    @Benchmark
+    public String compileTemplate(SpawnFixture fixture) {
+        return fixture.templateService.compileTemplate(fixture.template);
+    }
+
+    // A new token every call misses the output cache, so this measures rendering
+    @Benchmark
+    public String compileTemplateWithNewInputs(SpawnFixture fixture) {
+        return fixture.templateService.compileTemplate(fixture.template,
+            Map.of("github_mcp_pat", "ghp_benchmark" + token++));
+    }
+}
@@ -0,0 +1,187 @@
+package dev.rebelcraft.ai.spawn.benchmarks;
+
+import dev.rebelcraft.ai.spawn.SpawnApplication;
+import dev.rebelcraft.ai.spawn.agents.Agent;
+import dev.rebelcraft.ai.spawn.agents.AgentRepository;
+import dev.rebelcraft.ai.spawn.agents.AgentService;
+import dev.rebelcraft.ai.spawn.agents.SystemPromptStore;
+import dev.rebelcraft.ai.spawn.apps.Application;
+import dev.rebelcraft.ai.spawn.apps.ApplicationRepository;
+import dev.rebelcraft.ai.spawn.apps.ApplicationService;
+import dev.rebelcraft.ai.spawn.mcp.McpServerService;
+import dev.rebelcraft.ai.spawn.mcp.McpTemplate;
+import dev.rebelcraft.ai.spawn.mcp.McpTemplateService;
+import dev.rebelcraft.ai.spawn.models.ModelService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application without a web server against generated catalogs and a
+ * seeded in-memory database. One context is shared by every benchmark of a trial.
+ */
+@State(Scope.Benchmark)
+public class SpawnFixture {
+
+    /**
+     * Catalog and entity sizes to measure at.
+     */
+    public enum Size {
+        SMALL(20, 100, 1_000, 100),
+        LARGE(200, 500, 5_000, 1_000);
+
+        final int models;
+        final int mcpServers;
+        final int agents;
+        final int applications;
+
+        Size(int models, int mcpServers, int agents, int applications) {
+            this.models = models;
+            this.mcpServers = mcpServers;
+            this.agents = agents;
+            this.applications = applications;
+        }
+    }
+
+    private static final int MCP_SERVERS_PER_AGENT = 4;
+    private static final int AGENTS_PER_APPLICATION = 5;
+    private static final int PROVIDERS_PER_APPLICATION = 2;
+    private static final int SYSTEM_PROMPT_LENGTH = 4_096;
+
+    @Param({"SMALL", "LARGE"})
+    public Size size;
+
+    public ApplicationService applicationService;
+    public AgentService agentService;
+    public ModelService modelService;
+    public McpServerService mcpServerService;
+    public McpTemplateService templateService;
+
+    public List<Long> applicationIds;
+    public List<Long> agentIds;
+    public List<String> providers;
+    public McpTemplate template;
+
+    private ConfigurableApplicationContext context;
+    private Path catalogDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        catalogDir = Files.createTempDirectory("spawn-jmh");
+        providers = writeModelsCatalog(catalogDir.resolve("models.csv"), size.models);
+        List<String> serverNames = writeMcpServersCatalog(catalogDir.resolve("mcp_servers.csv"), size.mcpServers);
+
+        context = new SpringApplicationBuilder(SpawnApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:spawn-jmh-" + UUID.randomUUID(),
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "spawn.catalog.models=" + catalogDir.resolve("models.csv").toUri(),
+                "spawn.catalog.mcp-servers=" + catalogDir.resolve("mcp_servers.csv").toUri())
+            .run();
+
+        applicationService = context.getBean(ApplicationService.class);
+        agentService = context.getBean(AgentService.class);
+        modelService = context.getBean(ModelService.class);
+        mcpServerService = context.getBean(McpServerService.class);
+        templateService = context.getBean(McpTemplateService.class);
+        template = templateService.getTemplateForServer("GitHub").orElseThrow();
+
+        agentIds = seedAgents(context.getBean(AgentRepository.class), context.getBean(SystemPromptStore.class),
+            serverNames);
+        applicationIds = seedApplications(context.getBean(ApplicationRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (var files = Files.list(catalogDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(catalogDir);
+    }
+
+    private List<Long> seedAgents(AgentRepository repository, SystemPromptStore promptStore,
+                                  List<String> serverNames) {
+        String prompt = "You are a benchmark agent. ".repeat(SYSTEM_PROMPT_LENGTH / 27 + 1)
+            .substring(0, SYSTEM_PROMPT_LENGTH);
+        String promptHash = promptStore.store(prompt);
+        List<Agent> agents = new ArrayList<>(size.agents);
+        for (int i = 0; i < size.agents; i++) {
+            Agent agent = new Agent("agent-" + i);
+            agent.setSystemPromptHash(promptHash);
+            agent.setDescription("Benchmark agent " + i);
+            for (int j = 0; j < MCP_SERVERS_PER_AGENT - 1; j++) {
+                agent.addMcpServerName(serverNames.get((i + j * 7) % serverNames.size()));
+            }
+            agent.addMcpServerName("unknown-mcp-" + i);
+            agents.add(agent);
+        }
+        return repository.saveAll(agents).stream().map(Agent::getId).toList();
+    }
+
+    private List<Long> seedApplications(ApplicationRepository repository) {
+        List<Application> applications = new ArrayList<>(size.applications);
+        for (int i = 0; i < size.applications; i++) {
+            Application application = new Application("application-" + i);
+            for (int j = 0; j < PROVIDERS_PER_APPLICATION; j++) {
+                application.addModelProvider(providers.get((i + j) % providers.size()));
+            }
+            for (int j = 0; j < AGENTS_PER_APPLICATION; j++) {
+                application.addAgentName("agent-" + ((i * AGENTS_PER_APPLICATION + j) % size.agents));
+            }
+            applications.add(application);
+        }
+        return repository.saveAll(applications).stream().map(Application::getId).toList();
+    }
+
+    private static List<String> writeModelsCatalog(Path file, int count) throws IOException {
+        List<String> providers = new ArrayList<>(count);
+        StringBuilder csv = new StringBuilder(
+            "Provider,Multimodality,Tools/Functions,Streaming,Retry,Observability,Built-in JSON,Local,OpenAI API Compatible\n");
+        for (int i = 0; i < count; i++) {
+            String provider = "Provider " + i;
+            providers.add(provider);
+            csv.append(provider).append(",\"text, image\",yes,yes,")
+                .append(i % 2 == 0 ? "yes" : "no").append(",yes,no,")
+                .append(i % 3 == 0 ? "yes" : "no").append(",yes\n");
+        }
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        return providers;
+    }
+
+    private static List<String> writeMcpServersCatalog(Path file, int count) throws IOException {
+        List<String> names = new ArrayList<>(count);
+        StringBuilder csv = new StringBuilder("\"Name\",\"Icon\",\"Description\"\n");
+        // Real names first so template lookups hit the bundled templates
+        names.add("GitHub");
+        names.add("Azure MCP Server");
+        for (int i = names.size(); i < count; i++) {
+            names.add("MCP Server " + i);
+        }
+        for (String name : names) {
+            csv.append('"').append(name).append("\",\"https://avatars.example.com/u/")
+                .append(name.hashCode() & 0xffff).append("\",\"Benchmark server ")
+                .append(name).append(", generated for load testing.\"\n");
+        }
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        return names;
+    }
+}
@@ -4,12 +4,20 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 @Entity
-@Table(name = "agents")
+@Table(name = "agents",
+    uniqueConstraints = @UniqueConstraint(name = Agent.UNIQUE_NAME_CONSTRAINT, columnNames = "normalized_name"),
+    indexes = {
+    @Index(name = "idx_agents_created_at", columnList = "created_at, id"),
+    @Index(name = "idx_agents_system_prompt_hash", columnList = "system_prompt_hash")
+})
 public class Agent {
 
+    static final String UNIQUE_NAME_CONSTRAINT = "uk_agents_normalized_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -18,11 +26,21 @@ public class Agent {
     @Column(nullable = false)
     private String name;
 
+    // Trimmed, lowercased name; unique, so names cannot differ only by case
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
     private String description;
 
-    @Lob
-    @Column(name = "system_prompt")
-    private String systemPrompt;
+    // Key of the prompt text in system_prompts; see SystemPromptStore
+    @Column(name = "system_prompt_hash", length = 64)
+    private String systemPromptHash;
+
+    // Read-only; maps the column again only so the schema has the foreign key
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "system_prompt_hash", insertable = false, updatable = false,
+        foreignKey = @ForeignKey(name = "fk_agents_system_prompt"))
+    private SystemPrompt systemPrompt;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -43,9 +61,12 @@ public class Agent {
     // Constructors
     public Agent() { }
 
-    public Agent(String name, String systemPrompt) {
-        this.name = name;
-        this.systemPrompt = systemPrompt;
+    public Agent(String name) {
+        setName(name);
+    }
+
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
     }
 
     // Getters and Setters
@@ -63,6 +84,11 @@ public class Agent {
 
     public void setName(String name) {
         this.name = name;
+        this.normalizedName = normalizeName(name);
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
     }
 
     public String getDescription() {
@@ -73,12 +99,12 @@ public class Agent {
         this.description = description;
     }
 
-    public String getSystemPrompt() {
-        return systemPrompt;
+    public String getSystemPromptHash() {
+        return systemPromptHash;
     }
 
-    public void setSystemPrompt(String systemPrompt) {
-        this.systemPrompt = systemPrompt;
+    public void setSystemPromptHash(String systemPromptHash) {
+        this.systemPromptHash = systemPromptHash;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -1,12 +1,18 @@
 package dev.rebelcraft.ai.spawn.agents;
 
+import dev.rebelcraft.ai.spawn.mcp.McpConfigWriter;
 import dev.rebelcraft.ai.spawn.mcp.McpServerResponse;
 import dev.rebelcraft.ai.spawn.mcp.McpServerService;
+import dev.rebelcraft.ai.spawn.utils.KeysetPage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/agents")
@@ -14,16 +20,31 @@ public class AgentController {
 
     private final AgentService agentService;
     private final McpServerService mcpServerService;
+    private final McpConfigWriter mcpConfigWriter;
 
-    public AgentController(AgentService agentService, McpServerService mcpServerService) {
+    public AgentController(AgentService agentService, McpServerService mcpServerService,
+                           McpConfigWriter mcpConfigWriter) {
         this.agentService = agentService;
         this.mcpServerService = mcpServerService;
+        this.mcpConfigWriter = mcpConfigWriter;
     }
 
     @GetMapping
-    public String listAgents(Model model) {
-        List<AgentResponse> agents = agentService.getAllAgents();
-        model.addAttribute("agents", agents);
+    public String listAgents(@RequestParam(required = false) String after,
+                             @RequestParam(required = false) String before,
+                             @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size,
+                             Model model) {
+        KeysetPage<AgentSummary> page;
+        try {
+            page = agentService.getAgentsPage(after, before, size);
+        } catch (IllegalArgumentException e) {
+            // A mangled cursor from an edited or stale link; start again from the newest
+            page = agentService.getAgentsPage(null, null, size);
+        }
+        model.addAttribute("agents", page.getItems());
+        model.addAttribute("previousCursor", page.getPreviousCursor());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("pageSize", KeysetPage.clampSize(size));
         return "agentsListPage";
     }
 
@@ -107,12 +128,54 @@ public class AgentController {
         }
     }
 
+    @GetMapping("/{id}/mcp.json")
+    public ResponseEntity<StreamingResponseBody> mcpConfig(@PathVariable Long id) {
+        List<String> mcpServerNames = agentService.getAgentSummaryById(id).getMcpServerNames();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> mcpConfigWriter.write(mcpServerNames, out));
+    }
+
     @PostMapping("/{id}/delete")
     public String deleteAgent(@PathVariable Long id) {
         agentService.deleteAgent(id);
         return "redirect:/agents";
     }
 
+    /**
+     * Add and remove MCP servers of one agent in a single request, e.g.
+     * {@code {"add": ["GitHub"], "remove": ["Stripe"]}}.
+     */
+    @PostMapping(value = "/{id}/mcp-servers", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> changeMcpServers(@PathVariable Long id, @RequestBody AgentMcpServerChanges changes) {
+        changes.setAgentId(id);
+        try {
+            return ResponseEntity.ok(agentService.applyMcpServerChanges(List.of(changes)).get(0));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    /**
+     * Add and remove MCP servers of many agents in one transaction, from a list of
+     * {@code {"agentId": ..., "add": [...], "remove": [...]}}. Nothing is changed if
+     * any entry is rejected.
+     */
+    @PostMapping(value = "/mcp-servers", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> changeMcpServers(@RequestBody List<AgentMcpServerChanges> changes) {
+        try {
+            return ResponseEntity.ok(agentService.applyMcpServerChanges(changes));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    private static ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
     @PostMapping("/{id}/mcp-servers/add")
     public String addMcpServer(@PathVariable Long id,
                                @RequestParam String mcpName) {
@@ -29,6 +29,7 @@ public class AgentDetailPage extends PageView {
                     div(attrs(".d-flex.justify-content-between.align-items-center.mb-3"),
                         h1(agent != null ? agent.getName() : ""),
                         div(
+                            a(attrs(".btn.btn-outline-secondary.me-2"), "mcp.json").withHref("/agents/" + (agent != null ? agent.getId() : "") + "/mcp.json"),
                             a(attrs(".btn.btn-primary.me-2"), "Edit").withHref("/agents/" + (agent != null ? agent.getId() : "") + "/edit"),
                             a(attrs(".btn.btn-secondary"), "Back").withHref("/agents")
                         )
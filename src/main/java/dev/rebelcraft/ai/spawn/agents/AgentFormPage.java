@@ -37,7 +37,11 @@ public class AgentFormPage extends PageView {
         // Small inline JS that manages the client-side MCP list (dropdown-only)
         String clientJs = "function addHiddenInput(name,value){var i=document.createElement('input');i.type='hidden';i.name=name;i.value=value;return i;}" +
                 "function addMcpToList(val){if(!val) return;var c=document.getElementById('mcpListContainer');var item=document.createElement('div');item.className='d-flex align-items-center gap-2 mb-1';var span=document.createElement('span');span.innerText=val;var btn=document.createElement('button');btn.className='btn btn-sm btn-outline-danger';btn.type='button';btn.innerText='Remove';btn.onclick=function(){c.removeChild(item);};item.appendChild(span);item.appendChild(btn);item.appendChild(addHiddenInput('mcpServerNames',val));c.appendChild(item);}" +
-                "function addMcpFromDropdown(){var sel=document.getElementById('mcpDropdown'); if(sel){addMcpToList(sel.value);} }";
+                "function addMcpFromDropdown(){var sel=document.getElementById('mcpDropdown'); if(sel){addMcpToList(sel.value);} }" +
+                // Wait for a pause in typing, and drop replies for text that has since changed
+                "var mcpSuggestTimer;" +
+                "function suggestMcp(input){clearTimeout(mcpSuggestTimer);mcpSuggestTimer=setTimeout(function(){var q=input.value;if(!q) return;fetch('/mcp-servers/autocomplete?q='+encodeURIComponent(q)).then(function(r){return r.json();}).then(function(list){if(input.value!==q) return;var d=document.getElementById('mcpSuggestions');d.innerHTML='';list.forEach(function(s){var o=document.createElement('option');o.value=s.name;d.appendChild(o);});});},200);}" +
+                "function addMcpFromSearch(){var i=document.getElementById('mcpSearch');var d=document.getElementById('mcpSuggestions');for(var k=0;k<d.options.length;k++){if(d.options[k].value===i.value){addMcpToList(i.value);i.value='';return;}}}";
 
         return createPage(
                 (isEdit ? "Edit Agent" : "Create Agent") + " - Spawn",
@@ -73,6 +77,10 @@ public class AgentFormPage extends PageView {
                                 div(attrs(".mb-3"),
                                         label(attrs(".form-label"), "MCP Servers"),
 
+                                        // Type-ahead search, suggestions come from /mcp-servers/autocomplete
+                                        input(attrs(".form-control.mb-2")).attr("type", "search").attr("id", "mcpSearch").attr("list", "mcpSuggestions").attr("autocomplete", "off").attr("placeholder", "Search servers...").attr("oninput", "suggestMcp(this)").attr("onchange", "addMcpFromSearch()"),
+                                        datalist().attr("id", "mcpSuggestions"),
+
                                         // Dropdown + Add button (no free-text option)
                                         div(attrs(".d-flex.gap-2.mb-2"),
                                                 select(attrs(".form-select")).attr("id", "mcpDropdown").attr("name", "_mcpDropdown").with(
@@ -0,0 +1,46 @@
+package dev.rebelcraft.ai.spawn.agents;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MCP server names to add to and remove from one agent. Removals are applied
+ * first, so a name in both lists ends up attached.
+ */
+public class AgentMcpServerChanges {
+    private Long agentId;
+    private List<String> add = new ArrayList<>();
+    private List<String> remove = new ArrayList<>();
+
+    public AgentMcpServerChanges() { }
+
+    public AgentMcpServerChanges(Long agentId, List<String> add, List<String> remove) {
+        this.agentId = agentId;
+        this.add = add;
+        this.remove = remove;
+    }
+
+    public Long getAgentId() {
+        return agentId;
+    }
+
+    public void setAgentId(Long agentId) {
+        this.agentId = agentId;
+    }
+
+    public List<String> getAdd() {
+        return add;
+    }
+
+    public void setAdd(List<String> add) {
+        this.add = add;
+    }
+
+    public List<String> getRemove() {
+        return remove;
+    }
+
+    public void setRemove(List<String> remove) {
+        this.remove = remove;
+    }
+}
@@ -0,0 +1,81 @@
+package dev.rebelcraft.ai.spawn.agents;
+
+import dev.rebelcraft.ai.spawn.utils.JdbcSchema;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fills {@code agents.normalized_name} on databases created before names were unique
+ * ignoring case. Hibernate's schema update can neither add the column as NOT NULL to
+ * a populated table nor add its unique constraint while names collide, so this runs
+ * before the entity manager factory: it adds the column as nullable, fills it, renames
+ * agents whose names only differed by case or whitespace, and then makes it NOT NULL.
+ */
+@Component
+public class AgentNameMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgentNameMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AgentNameMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!JdbcSchema.hasTable(jdbcTemplate, "agents")) {
+            return;
+        }
+        if (!JdbcSchema.hasColumn(jdbcTemplate, "agents", "normalized_name")) {
+            jdbcTemplate.execute("alter table agents add column normalized_name varchar(255)");
+        }
+        Integer missing = jdbcTemplate.queryForObject(
+            "select count(*) from agents where normalized_name is null", Integer.class);
+        if (missing == null || missing == 0) {
+            return;
+        }
+
+        // Oldest agent keeps its name; later ones that collide get a numbered suffix
+        List<AgentName> agents = jdbcTemplate.query("select id, name from agents order by id",
+            (rs, row) -> new AgentName(rs.getLong(1), rs.getString(2)));
+        Set<String> taken = new HashSet<>();
+        for (AgentName agent : agents) {
+            String name = agent.name();
+            for (int suffix = 2; !taken.add(Agent.normalizeName(name)); suffix++) {
+                name = agent.name().trim() + " (" + suffix + ")";
+            }
+            if (!name.equals(agent.name())) {
+                logger.warn("Renamed agent {} from '{}' to '{}', as agent names must now differ by more than case",
+                    agent.id(), agent.name(), name);
+            }
+            jdbcTemplate.update("update agents set name = ?, normalized_name = ? where id = ?",
+                name, Agent.normalizeName(name), agent.id());
+        }
+        jdbcTemplate.execute("alter table agents alter column normalized_name set not null");
+        logger.info("Filled normalized names for {} agents", missing);
+    }
+
+    private record AgentName(long id, String name) {
+    }
+
+    /**
+     * Runs the migration before Hibernate updates the schema.
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnAgentNameMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnAgentNameMigration() {
+            super(AgentNameMigration.class);
+        }
+    }
+}
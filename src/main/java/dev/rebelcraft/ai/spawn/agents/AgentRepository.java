@@ -1,7 +1,63 @@
 package dev.rebelcraft.ai.spawn.agents;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface AgentRepository extends JpaRepository<Agent, Long> {
-}
 
+    // Name lookups take Agent.normalizeName(name), so they ignore case and surrounding
+    // whitespace and use the unique index on normalized_name
+
+    Optional<Agent> findByNormalizedName(String normalizedName);
+
+    boolean existsByNormalizedName(String normalizedName);
+
+    @EntityGraph(attributePaths = {"mcpServerNames"})
+    List<Agent> findByNormalizedNameIn(Collection<String> normalizedNames);
+
+    @EntityGraph(attributePaths = {"mcpServerNames"})
+    List<Agent> findAllWithMcpServerNamesByIdIn(Collection<Long> ids);
+
+    boolean existsBySystemPromptHash(String systemPromptHash);
+
+    // Summaries for lists and pickers. These never select the system prompt; MCP
+    // server names are read separately as (agent id, name) pairs.
+
+    @Query("select new dev.rebelcraft.ai.spawn.agents.AgentSummary(a.id, a.name, a.description, a.createdAt) " +
+           "from Agent a")
+    List<AgentSummary> findAllSummaries();
+
+    @Query("select new dev.rebelcraft.ai.spawn.agents.AgentSummary(a.id, a.name, a.description, a.createdAt) " +
+           "from Agent a where a.id in :ids")
+    List<AgentSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.id, m from Agent a join a.mcpServerNames m")
+    List<Object[]> findAllMcpServerNames();
+
+    @Query("select a.id, m from Agent a join a.mcpServerNames m where a.id in :ids")
+    List<Object[]> findMcpServerNamesByAgentIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pagination, newest first. Only ids are paged so the collection
+    // fetch above never has to be combined with a row limit.
+
+    @Query("select a.id from Agent a order by a.createdAt desc, a.id desc")
+    List<Long> findFirstPageIds(Pageable pageable);
+
+    @Query("select a.id from Agent a " +
+           "where a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id) " +
+           "order by a.createdAt desc, a.id desc")
+    List<Long> findPageIdsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("select a.id from Agent a " +
+           "where a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :id) " +
+           "order by a.createdAt asc, a.id asc")
+    List<Long> findPageIdsBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+}
@@ -1,12 +1,19 @@
 package dev.rebelcraft.ai.spawn.agents;
 
-import dev.rebelcraft.ai.spawn.mcp.McpServerResponse;
+import dev.rebelcraft.ai.spawn.mcp.McpServerCatalog;
 import dev.rebelcraft.ai.spawn.mcp.McpServerService;
+import dev.rebelcraft.ai.spawn.utils.KeysetCursor;
+import dev.rebelcraft.ai.spawn.utils.KeysetPage;
 import dev.rebelcraft.ai.spawn.utils.ResourceNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -14,46 +21,146 @@ import java.util.stream.Collectors;
 public class AgentService {
 
     private final AgentRepository agentRepository;
+    private final SystemPromptStore promptStore;
     private final McpServerService mcpServerService;
 
-    public AgentService(AgentRepository agentRepository, McpServerService mcpServerService) {
+    public AgentService(AgentRepository agentRepository, SystemPromptStore promptStore,
+                        McpServerService mcpServerService) {
         this.agentRepository = agentRepository;
+        this.promptStore = promptStore;
         this.mcpServerService = mcpServerService;
     }
 
     public AgentResponse createAgent(AgentRequest request) {
         validateRequest(request);
 
-        Agent agent = new Agent(request.getName(), request.getSystemPrompt());
+        Agent agent = new Agent(request.getName());
+        agent.setSystemPromptHash(promptStore.store(request.getSystemPrompt()));
         agent.setDescription(request.getDescription());
         if (request.getMcpServerNames() != null) {
             request.getMcpServerNames().forEach(agent::addMcpServerName);
         }
 
-        Agent saved = agentRepository.save(agent);
+        Agent saved = saveUniquelyNamed(agent);
         return toResponse(saved);
     }
 
     public List<AgentResponse> getAllAgents() {
+        McpServerCatalog catalog = mcpServerService.getCatalog();
         return agentRepository.findAll().stream()
-            .map(this::toResponse)
+            .map(agent -> toResponse(agent, catalog))
             .collect(Collectors.toList());
     }
 
+    /**
+     * Every agent without its system prompt, for pickers.
+     */
+    public List<AgentSummary> getAllAgentSummaries() {
+        return withMcpServerNames(agentRepository.findAllSummaries(), agentRepository.findAllMcpServerNames());
+    }
+
+    /**
+     * Fetch one page of agent summaries, newest first. At most one of {@code after}
+     * and {@code before} is expected; with neither the first page is returned.
+     */
+    public KeysetPage<AgentSummary> getAgentsPage(String after, String before, int size) {
+        int limit = KeysetPage.clampSize(size);
+        Pageable probe = PageRequest.of(0, limit + 1);
+        boolean backward = before != null;
+
+        List<Long> ids;
+        if (backward) {
+            KeysetCursor cursor = KeysetCursor.parse(before);
+            ids = agentRepository.findPageIdsBefore(cursor.getCreatedAt(), cursor.getId(), probe);
+        } else if (after != null) {
+            KeysetCursor cursor = KeysetCursor.parse(after);
+            ids = agentRepository.findPageIdsAfter(cursor.getCreatedAt(), cursor.getId(), probe);
+        } else {
+            ids = agentRepository.findFirstPageIds(probe);
+        }
+
+        boolean more = ids.size() > limit;
+        List<Long> pageIds = more ? ids.subList(0, limit) : ids;
+        List<AgentSummary> items = withMcpServerNames(
+                agentRepository.findSummariesByIdIn(pageIds),
+                agentRepository.findMcpServerNamesByAgentIdIn(pageIds)).stream()
+            .sorted(Comparator.comparing(AgentSummary::getCreatedAt).thenComparing(AgentSummary::getId).reversed())
+            .collect(Collectors.toList());
+
+        return KeysetPage.of(
+            items,
+            agent -> new KeysetCursor(agent.getCreatedAt(), agent.getId()),
+            backward ? more : after != null,
+            backward || more
+        );
+    }
+
+    /**
+     * Resolve agents by name, ignoring case, in a single query. The map is keyed by
+     * the names as given; names that do not match an agent are absent.
+     */
+    public Map<String, AgentResponse> getAgentsByNames(Collection<String> names) {
+        McpServerCatalog catalog = mcpServerService.getCatalog();
+        return byName(names, agent -> toResponse(agent, catalog));
+    }
+
+    /**
+     * Like {@link #getAgentsByNames}, but without inflating system prompts; for
+     * pages that only show or count the agents.
+     */
+    public Map<String, AgentSummary> getAgentSummariesByNames(Collection<String> names) {
+        McpServerCatalog catalog = mcpServerService.getCatalog();
+        return byName(names, agent -> toSummary(agent, catalog));
+    }
+
+    private <T> Map<String, T> byName(Collection<String> names, Function<Agent, T> converter) {
+        if (names == null || names.isEmpty()) {
+            return Map.of();
+        }
+        Set<String> normalizedNames = names.stream()
+            .filter(Objects::nonNull)
+            .map(Agent::normalizeName)
+            .collect(Collectors.toSet());
+        Map<String, T> byNormalizedName = new HashMap<>();
+        for (Agent agent : agentRepository.findByNormalizedNameIn(normalizedNames)) {
+            byNormalizedName.put(agent.getNormalizedName(), converter.apply(agent));
+        }
+        Map<String, T> result = new HashMap<>();
+        for (String name : names) {
+            T agent = name == null ? null : byNormalizedName.get(Agent.normalizeName(name));
+            if (agent != null) {
+                result.put(name, agent);
+            }
+        }
+        return result;
+    }
+
     public AgentResponse getAgentById(Long id) {
         Agent agent = agentRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Agent not found with id: " + id));
         return toResponse(agent);
     }
 
+    /**
+     * An agent without its system prompt, for callers that only need its name and servers.
+     */
+    public AgentSummary getAgentSummaryById(Long id) {
+        List<Long> ids = List.of(id);
+        return withMcpServerNames(agentRepository.findSummariesByIdIn(ids),
+                agentRepository.findMcpServerNamesByAgentIdIn(ids)).stream()
+            .findFirst()
+            .orElseThrow(() -> new ResourceNotFoundException("Agent not found with id: " + id));
+    }
+
     public AgentResponse updateAgent(Long id, AgentRequest request) {
         validateRequest(request);
         Agent agent = agentRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Agent not found with id: " + id));
 
+        String previousPromptHash = agent.getSystemPromptHash();
         agent.setName(request.getName());
         agent.setDescription(request.getDescription());
-        agent.setSystemPrompt(request.getSystemPrompt());
+        agent.setSystemPromptHash(promptStore.store(request.getSystemPrompt()));
 
         // replace MCP names
         agent.getMcpServerNames().clear();
@@ -61,15 +168,18 @@ public class AgentService {
             request.getMcpServerNames().forEach(agent::addMcpServerName);
         }
 
-        Agent updated = agentRepository.save(agent);
+        Agent updated = saveUniquelyNamed(agent);
+        if (!Objects.equals(previousPromptHash, updated.getSystemPromptHash())) {
+            promptStore.release(previousPromptHash);
+        }
         return toResponse(updated);
     }
 
     public void deleteAgent(Long id) {
-        if (!agentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Agent not found with id: " + id);
-        }
-        agentRepository.deleteById(id);
+        Agent agent = agentRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Agent not found with id: " + id));
+        agentRepository.delete(agent);
+        promptStore.release(agent.getSystemPromptHash());
     }
 
     public AgentResponse addMcpName(Long agentId, String mcpName) {
@@ -88,6 +198,65 @@ public class AgentService {
         return toResponse(updated);
     }
 
+    /**
+     * Apply MCP server additions and removals to any number of agents in one
+     * transaction. The agents are loaded in one query, and the changed rows of
+     * agent_mcp_servers are written as JDBC batches when the changes are flushed.
+     * If any agent is missing nothing is changed.
+     */
+    public List<AgentSummary> applyMcpServerChanges(Collection<AgentMcpServerChanges> changes) {
+        if (changes == null || changes.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (AgentMcpServerChanges change : changes) {
+            if (change.getAgentId() == null) {
+                throw new IllegalArgumentException("Agent id is required");
+            }
+            ids.add(change.getAgentId());
+        }
+        Map<Long, Agent> agents = new HashMap<>();
+        for (Agent agent : agentRepository.findAllWithMcpServerNamesByIdIn(ids)) {
+            agents.put(agent.getId(), agent);
+        }
+
+        for (AgentMcpServerChanges change : changes) {
+            Agent agent = agents.get(change.getAgentId());
+            if (agent == null) {
+                throw new ResourceNotFoundException("Agent not found with id: " + change.getAgentId());
+            }
+            if (change.getRemove() != null) {
+                change.getRemove().forEach(agent::removeMcpServerName);
+            }
+            if (change.getAdd() != null) {
+                change.getAdd().forEach(agent::addMcpServerName);
+            }
+        }
+        agentRepository.flush();
+
+        McpServerCatalog catalog = mcpServerService.getCatalog();
+        return ids.stream()
+            .map(id -> toSummary(agents.get(id), catalog))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Save and flush, so a name taken by another agent fails here on the unique
+     * index instead of at commit. Checking first would race with concurrent saves.
+     */
+    private Agent saveUniquelyNamed(Agent agent) {
+        try {
+            return agentRepository.saveAndFlush(agent);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Agent.UNIQUE_NAME_CONSTRAINT)) {
+                throw new IllegalArgumentException("An agent named '" + agent.getName() + "' already exists");
+            }
+            throw e;
+        }
+    }
+
     private void validateRequest(AgentRequest request) {
         if (request.getName() == null || request.getName().isBlank()) {
             throw new IllegalArgumentException("Agent name is required");
@@ -97,7 +266,41 @@ public class AgentService {
         }
     }
 
+    /**
+     * Attach (agent id, MCP server name) rows to their summaries and flag the names
+     * missing from the catalog.
+     */
+    private List<AgentSummary> withMcpServerNames(List<AgentSummary> summaries, List<Object[]> mcpServerNames) {
+        Map<Long, AgentSummary> byId = new HashMap<>();
+        for (AgentSummary summary : summaries) {
+            byId.put(summary.getId(), summary);
+        }
+        for (Object[] row : mcpServerNames) {
+            AgentSummary summary = byId.get((Long) row[0]);
+            if (summary != null) {
+                summary.getMcpServerNames().add((String) row[1]);
+            }
+        }
+        McpServerCatalog catalog = mcpServerService.getCatalog();
+        for (AgentSummary summary : summaries) {
+            summary.setUnmatchedMcpNames(catalog.unmatchedNames(summary.getMcpServerNames()));
+        }
+        return summaries;
+    }
+
+    private static AgentSummary toSummary(Agent agent, McpServerCatalog catalog) {
+        AgentSummary summary = new AgentSummary(agent.getId(), agent.getName(), agent.getDescription(),
+            agent.getCreatedAt());
+        summary.setMcpServerNames(new ArrayList<>(agent.getMcpServerNames()));
+        summary.setUnmatchedMcpNames(catalog.unmatchedNames(summary.getMcpServerNames()));
+        return summary;
+    }
+
     private AgentResponse toResponse(Agent agent) {
+        return toResponse(agent, mcpServerService.getCatalog());
+    }
+
+    private AgentResponse toResponse(Agent agent, McpServerCatalog catalog) {
         List<String> names = new ArrayList<>();
         if (agent.getMcpServerNames() != null) {
             names.addAll(agent.getMcpServerNames());
@@ -107,22 +310,12 @@ public class AgentService {
             agent.getId(),
             agent.getName(),
             agent.getDescription(),
-            agent.getSystemPrompt(),
+            promptStore.load(agent.getSystemPromptHash()),
             names,
             agent.getCreatedAt()
         );
 
-        // compute unmatched names
-        Set<String> known = mcpServerService.getAllMcpServers().stream()
-            .map(McpServerResponse::getName)
-            .map(String::toLowerCase)
-            .collect(Collectors.toSet());
-
-        Set<String> unmatched = names.stream()
-            .filter(n -> !known.contains(n.toLowerCase()))
-            .collect(Collectors.toSet());
-
-        response.setUnmatchedMcpNames(unmatched);
+        response.setUnmatchedMcpNames(catalog.unmatchedNames(names));
         return response;
     }
 }
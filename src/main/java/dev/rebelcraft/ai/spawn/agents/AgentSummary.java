@@ -0,0 +1,77 @@
+package dev.rebelcraft.ai.spawn.agents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An agent without its system prompt, for lists and pickers. It is read with a
+ * projection query, so the prompt column is never loaded.
+ */
+public class AgentSummary {
+    private Long id;
+    private String name;
+    private String description;
+    private List<String> mcpServerNames = new ArrayList<>();
+    private Set<String> unmatchedMcpNames = new HashSet<>();
+    private LocalDateTime createdAt;
+
+    public AgentSummary() { }
+
+    public AgentSummary(Long id, String name, String description, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<String> getMcpServerNames() {
+        return mcpServerNames;
+    }
+
+    public void setMcpServerNames(List<String> mcpServerNames) {
+        this.mcpServerNames = mcpServerNames;
+    }
+
+    public Set<String> getUnmatchedMcpNames() {
+        return unmatchedMcpNames;
+    }
+
+    public void setUnmatchedMcpNames(Set<String> unmatchedMcpNames) {
+        this.unmatchedMcpNames = unmatchedMcpNames;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
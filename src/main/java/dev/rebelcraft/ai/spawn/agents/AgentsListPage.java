@@ -20,7 +20,10 @@ public class AgentsListPage extends PageView {
     protected DomContent renderPage(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) {
 
         @SuppressWarnings("unchecked")
-        List<AgentResponse> agents = (List<AgentResponse>) model.get("agents");
+        List<AgentSummary> agents = (List<AgentSummary>) model.get("agents");
+        String previousCursor = (String) model.get("previousCursor");
+        String nextCursor = (String) model.get("nextCursor");
+        int pageSize = (Integer) model.get("pageSize");
 
         return createPage(
             "Agents - Spawn",
@@ -33,13 +36,14 @@ public class AgentsListPage extends PageView {
                         h1("Agents"),
                         a(attrs(".btn.btn-primary"), "Create New Agent").withHref("/agents/new")
                     ),
-                    agentsTable(agents)
+                    agentsTable(agents),
+                    pagination("/agents", pageSize, previousCursor, nextCursor)
                 )
             )
         );
     }
 
-    private ContainerTag agentsTable(List<AgentResponse> agents) {
+    private ContainerTag agentsTable(List<AgentSummary> agents) {
         if (agents == null || agents.isEmpty()) {
             return div(
                 attrs(".alert.alert-info"),
@@ -0,0 +1,73 @@
+package dev.rebelcraft.ai.spawn.agents;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deflate-compressed system prompt keyed by the SHA-256 of its text. Agents with
+ * the same prompt share one row.
+ */
+@Entity
+@Table(name = "system_prompts")
+public class SystemPrompt {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Lob
+    @Column(name = "content", nullable = false)
+    private byte[] content;
+
+    // Uncompressed size in bytes, so inflating needs no buffer growth
+    @Column(name = "original_length", nullable = false)
+    private int originalLength;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public SystemPrompt() {
+    }
+
+    public SystemPrompt(String contentHash, byte[] content, int originalLength) {
+        this.contentHash = contentHash;
+        this.content = content;
+        this.originalLength = originalLength;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+
+    public int getOriginalLength() {
+        return originalLength;
+    }
+
+    public void setOriginalLength(int originalLength) {
+        this.originalLength = originalLength;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,61 @@
+package dev.rebelcraft.ai.spawn.agents;
+
+import dev.rebelcraft.ai.spawn.utils.JdbcSchema;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves prompts out of the {@code agents.system_prompt} column that databases created
+ * before {@link SystemPromptStore} still have, then drops the column. Hibernate's
+ * schema update only adds the hash column, so without this every existing agent
+ * would lose its prompt. Does nothing once the column is gone.
+ */
+@Component
+public class SystemPromptBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemPromptBackfill.class);
+
+    static final String LEGACY_COLUMN = "system_prompt";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SystemPromptStore promptStore;
+    private final TransactionTemplate transaction;
+
+    public SystemPromptBackfill(JdbcTemplate jdbcTemplate, SystemPromptStore promptStore,
+                                PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.promptStore = promptStore;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void backfill() {
+        if (!JdbcSchema.hasColumn(jdbcTemplate, "agents", LEGACY_COLUMN)) {
+            return;
+        }
+        Integer moved = transaction.execute(status -> {
+            List<LegacyPrompt> prompts = jdbcTemplate.query(
+                "select id, " + LEGACY_COLUMN + " from agents "
+                    + "where " + LEGACY_COLUMN + " is not null and system_prompt_hash is null",
+                (rs, row) -> new LegacyPrompt(rs.getLong(1), rs.getString(2)));
+            for (LegacyPrompt prompt : prompts) {
+                jdbcTemplate.update("update agents set system_prompt_hash = ? where id = ?",
+                    promptStore.store(prompt.text()), prompt.agentId());
+            }
+            return prompts.size();
+        });
+        // Only once every prompt is stored by hash; a restart in between just finds nothing left to move
+        jdbcTemplate.execute("alter table agents drop column " + LEGACY_COLUMN);
+        logger.info("Moved {} agent system prompts to content-addressed storage", moved);
+    }
+
+    private record LegacyPrompt(long agentId, String text) {
+    }
+}
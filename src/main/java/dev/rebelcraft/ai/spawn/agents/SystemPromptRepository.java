@@ -0,0 +1,19 @@
+package dev.rebelcraft.ai.spawn.agents;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SystemPromptRepository extends JpaRepository<SystemPrompt, String> {
+
+    // Row lock held until the caller's transaction ends; see SystemPromptStore
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p.contentHash from SystemPrompt p where p.contentHash = :hash")
+    Optional<String> lockByContentHash(@Param("hash") String hash);
+}
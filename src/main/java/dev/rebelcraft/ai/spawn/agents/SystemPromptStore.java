@@ -0,0 +1,160 @@
+package dev.rebelcraft.ai.spawn.agents;
+
+import dev.rebelcraft.ai.spawn.utils.CacheStats;
+import dev.rebelcraft.ai.spawn.utils.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Content-addressed storage for agent system prompts. A prompt is stored once,
+ * deflated, under the SHA-256 of its text, and agents keep only that hash. Prompts
+ * are inflated when a caller asks for one, through a small LRU cache; since a hash
+ * always names the same text, cached prompts never go stale.
+ *
+ * <p>Both {@link #store} and {@link #release} lock the prompt's row for the rest of
+ * the caller's transaction, so a release cannot delete a prompt that an agent being
+ * saved concurrently is about to refer to; agents also hold a foreign key to it.
+ * A prompt inserted for an agent whose save then fails is left behind, unreferenced,
+ * until another agent uses and releases the same text.
+ */
+@Component
+public class SystemPromptStore {
+
+    private final SystemPromptRepository promptRepository;
+    private final AgentRepository agentRepository;
+    private final TransactionTemplate insertTransaction;
+    private final LruCache<String, String> prompts;
+
+    public SystemPromptStore(SystemPromptRepository promptRepository, AgentRepository agentRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${spawn.agents.prompt-cache.max-entries:64}") int maxEntries) {
+        this.promptRepository = promptRepository;
+        this.agentRepository = agentRepository;
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.prompts = new LruCache<>(maxEntries);
+    }
+
+    /**
+     * Store the prompt unless an identical one is stored already, and return its hash.
+     * The row stays locked until the calling transaction ends, so it is still there
+     * when the agent referring to it commits.
+     */
+    public String store(String prompt) {
+        if (prompt == null) {
+            return null;
+        }
+        byte[] text = prompt.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(text);
+        SystemPrompt stored = new SystemPrompt(hash, deflate(text), text.length);
+        // One retry covers a concurrent release deleting the row between our insert and our lock
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (promptRepository.lockByContentHash(hash).isPresent()) {
+                return hash;
+            }
+            insert(stored);
+        }
+        return promptRepository.lockByContentHash(hash)
+            .orElseThrow(() -> new IllegalStateException("System prompt " + hash + " could not be stored"));
+    }
+
+    // Commits on its own, so a racing insert of the same prompt fails here, on the
+    // primary key, rather than in the caller's transaction
+    private void insert(SystemPrompt prompt) {
+        try {
+            insertTransaction.executeWithoutResult(status -> promptRepository.saveAndFlush(prompt));
+        } catch (DataIntegrityViolationException e) {
+            // Stored concurrently, and the lock in store() picks it up; any other
+            // violation leaves no row behind and is not ours to swallow
+            if (!promptRepository.existsById(prompt.getContentHash())) {
+                throw e;
+            }
+        }
+    }
+
+    public String load(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        return prompts.get(hash, key -> promptRepository.findById(key)
+            .map(SystemPromptStore::inflate)
+            .orElseThrow(() -> new IllegalStateException("System prompt not found: " + key)));
+    }
+
+    /**
+     * Delete the prompt if no agent refers to it any more. Call after the agent that
+     * used it has been changed or deleted.
+     */
+    public void release(String hash) {
+        if (hash != null && promptRepository.lockByContentHash(hash).isPresent()
+                && !agentRepository.existsBySystemPromptHash(hash)) {
+            promptRepository.deleteById(hash);
+            prompts.invalidate(hash);
+        }
+    }
+
+    public CacheStats getCacheStats() {
+        return prompts.getStats();
+    }
+
+    static byte[] deflate(byte[] text) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(text);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, text.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(SystemPrompt prompt) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(prompt.getContent());
+            byte[] text = new byte[prompt.getOriginalLength()];
+            int length = 0;
+            while (length < text.length && !inflater.finished()) {
+                int inflated = inflater.inflate(text, length, text.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != text.length) {
+                throw new IllegalStateException("System prompt " + prompt.getContentHash() + " is truncated");
+            }
+            return new String(text, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("System prompt " + prompt.getContentHash() + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
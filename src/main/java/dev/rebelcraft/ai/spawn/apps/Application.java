@@ -8,7 +8,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = @Index(name = "idx_applications_created_at", columnList = "created_at, id"))
 public class Application {
 
     @Id
@@ -1,15 +1,22 @@
 package dev.rebelcraft.ai.spawn.apps;
 
-import dev.rebelcraft.ai.spawn.agents.AgentResponse;
+import dev.rebelcraft.ai.spawn.agents.AgentSummary;
 import dev.rebelcraft.ai.spawn.agents.AgentService;
+import dev.rebelcraft.ai.spawn.deploy.DeploymentService;
+import dev.rebelcraft.ai.spawn.mcp.McpConfigWriter;
 import dev.rebelcraft.ai.spawn.mcp.McpServerResponse;
 import dev.rebelcraft.ai.spawn.models.ModelResponse;
 import dev.rebelcraft.ai.spawn.mcp.McpServerService;
 import dev.rebelcraft.ai.spawn.models.ModelService;
+import dev.rebelcraft.ai.spawn.utils.KeysetPage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -19,32 +26,52 @@ import java.util.stream.Collectors;
 @RequestMapping("/applications")
 public class ApplicationController {
 
+    private static final int RECENT_DEPLOYMENTS = 5;
+
     private final ApplicationService applicationService;
     private final ModelService modelService;
     private final AgentService agentService;
     private final McpServerService mcpServerService;
+    private final DeploymentService deploymentService;
+    private final McpConfigWriter mcpConfigWriter;
 
     public ApplicationController(ApplicationService applicationService, 
                                 ModelService modelService,
                                 AgentService agentService,
-                                McpServerService mcpServerService) {
+                                McpServerService mcpServerService,
+                                DeploymentService deploymentService,
+                                McpConfigWriter mcpConfigWriter) {
         this.applicationService = applicationService;
         this.modelService = modelService;
         this.agentService = agentService;
         this.mcpServerService = mcpServerService;
+        this.deploymentService = deploymentService;
+        this.mcpConfigWriter = mcpConfigWriter;
     }
 
     @GetMapping
-    public String listApplications(Model model) {
-        List<ApplicationResponse> applications = applicationService.getAllApplications();
-        model.addAttribute("applications", applications);
+    public String listApplications(@RequestParam(required = false) String after,
+                                   @RequestParam(required = false) String before,
+                                   @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size,
+                                   Model model) {
+        KeysetPage<ApplicationResponse> page;
+        try {
+            page = applicationService.getApplicationsPage(after, before, size);
+        } catch (IllegalArgumentException e) {
+            // A mangled cursor from an edited or stale link; start again from the newest
+            page = applicationService.getApplicationsPage(null, null, size);
+        }
+        model.addAttribute("applications", page.getItems());
+        model.addAttribute("previousCursor", page.getPreviousCursor());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("pageSize", KeysetPage.clampSize(size));
         return "applicationsListPage";
     }
 
     @GetMapping("/new")
     public String newApplicationForm(Model model) {
         List<ModelResponse> models = modelService.getAllModels();
-        List<AgentResponse> agents = agentService.getAllAgents();
+        List<AgentSummary> agents = agentService.getAllAgentSummaries();
         model.addAttribute("models", models);
         model.addAttribute("agents", agents);
         return "applicationFormPage";
@@ -71,7 +98,7 @@ public class ApplicationController {
             model.addAttribute("selectedModelProviders", modelProviders != null ? modelProviders : List.of());
             model.addAttribute("selectedAgentNames", agentNames != null ? agentNames : List.of());
             model.addAttribute("models", modelService.getAllModels());
-            model.addAttribute("agents", agentService.getAllAgents());
+            model.addAttribute("agents", agentService.getAllAgentSummaries());
             return "applicationFormPage";
         }
     }
@@ -90,25 +117,41 @@ public class ApplicationController {
             .collect(Collectors.toList());
         
         // Get all available agents and filter out associated ones
-        List<AgentResponse> allAgents = agentService.getAllAgents();
+        List<AgentSummary> allAgents = agentService.getAllAgentSummaries();
         Set<String> associatedAgentNames = app.getAgents() != null ? 
-            app.getAgents().stream().map(AgentResponse::getName).collect(Collectors.toSet()) :
+            app.getAgents().stream().map(AgentSummary::getName).collect(Collectors.toSet()) :
             Set.of();
-        List<AgentResponse> availableAgents = allAgents.stream()
+        List<AgentSummary> availableAgents = allAgents.stream()
             .filter(a -> !associatedAgentNames.contains(a.getName()))
             .collect(Collectors.toList());
 
         model.addAttribute("application", app);
         model.addAttribute("availableModels", availableModels);
         model.addAttribute("availableAgents", availableAgents);
+        model.addAttribute("deployments", deploymentService.getJobsForApplication(id, RECENT_DEPLOYMENTS));
         return "applicationDetailPage";
     }
 
+    /**
+     * The merged MCP configuration for every server used by the application's agents,
+     * taking agents in name order.
+     */
+    @GetMapping("/{id}/mcp.json")
+    public ResponseEntity<StreamingResponseBody> mcpConfig(@PathVariable Long id) {
+        List<String> mcpServerNames = applicationService.getApplicationById(id).getAgents().stream()
+            .sorted(Comparator.comparing(AgentSummary::getName))
+            .flatMap(agent -> agent.getMcpServerNames().stream())
+            .collect(Collectors.toList());
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> mcpConfigWriter.write(mcpServerNames, out));
+    }
+
     @GetMapping("/{id}/edit")
     public String editApplicationForm(@PathVariable Long id, Model model) {
         ApplicationResponse app = applicationService.getApplicationById(id);
         List<ModelResponse> models = modelService.getAllModels();
-        List<AgentResponse> agents = agentService.getAllAgents();
+        List<AgentSummary> agents = agentService.getAllAgentSummaries();
         
         model.addAttribute("applicationId", app.getId().toString());
         model.addAttribute("name", app.getName());
@@ -118,7 +161,7 @@ public class ApplicationController {
                 List.of());
         model.addAttribute("selectedAgentNames", 
             app.getAgents() != null ? 
-                app.getAgents().stream().map(AgentResponse::getName).collect(Collectors.toList()) : 
+                app.getAgents().stream().map(AgentSummary::getName).collect(Collectors.toList()) : 
                 List.of());
         model.addAttribute("models", models);
         model.addAttribute("agents", agents);
@@ -148,7 +191,7 @@ public class ApplicationController {
             model.addAttribute("selectedModelProviders", modelProviders != null ? modelProviders : List.of());
             model.addAttribute("selectedAgentNames", agentNames != null ? agentNames : List.of());
             model.addAttribute("models", modelService.getAllModels());
-            model.addAttribute("agents", agentService.getAllAgents());
+            model.addAttribute("agents", agentService.getAllAgentSummaries());
             return "applicationFormPage";
         }
     }
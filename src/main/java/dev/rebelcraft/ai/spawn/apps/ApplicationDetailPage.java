@@ -1,6 +1,8 @@
 package dev.rebelcraft.ai.spawn.apps;
 
-import dev.rebelcraft.ai.spawn.agents.AgentResponse;
+import dev.rebelcraft.ai.spawn.agents.AgentSummary;
+import dev.rebelcraft.ai.spawn.deploy.DeploymentJobResponse;
+import dev.rebelcraft.ai.spawn.deploy.DeploymentsListPage;
 import dev.rebelcraft.ai.spawn.models.ModelResponse;
 import dev.rebelcraft.ai.spawn.web.view.DefaultPageLayout;
 import dev.rebelcraft.ai.spawn.web.view.PageView;
@@ -10,6 +12,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -22,6 +25,8 @@ public class ApplicationDetailPage extends PageView {
   protected DomContent renderPage(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) {
 
     ApplicationResponse app = (ApplicationResponse) model.get("application");
+    @SuppressWarnings("unchecked")
+    List<DeploymentJobResponse> deployments = (List<DeploymentJobResponse>) model.get("deployments");
 
     return DefaultPageLayout.createPage(
       "Application Details - Spawn",
@@ -31,6 +36,13 @@ public class ApplicationDetailPage extends PageView {
           attrs(".d-flex.justify-content-between.align-items-center.mb-3"),
           h1("Application: " + app.getName()),
           div(
+            form(
+              attrs(".d-inline.me-2"),
+              button(attrs(".btn.btn-success"), "Deploy").attr("type", "submit")
+            ).attr("method", "post")
+              .attr("action", "/applications/" + app.getId() + "/deploy"),
+            a(attrs(".btn.btn-outline-secondary.me-2"), "mcp.json")
+              .withHref("/applications/" + app.getId() + "/mcp.json"),
             a(attrs(".btn.btn-primary.me-2"), "Edit")
               .withHref("/applications/" + app.getId() + "/edit"),
             a(attrs(".btn.btn-secondary"), "Back to List")
@@ -50,7 +62,9 @@ public class ApplicationDetailPage extends PageView {
         h3("Associated Models"),
         modelsSectionReadOnly(app),
         h3(attrs(".mt-4"), "Associated Agents"),
-        agentsSectionReadOnly(app)
+        agentsSectionReadOnly(app),
+        h3(attrs(".mt-4"), "Deployments"),
+        DeploymentsListPage.deploymentsTable(deployments)
       )
     );
   }
@@ -84,7 +98,7 @@ public class ApplicationDetailPage extends PageView {
   }
 
   private ContainerTag<?> agentsSectionReadOnly(ApplicationResponse app) {
-    Set<AgentResponse> currentAgents = app.getAgents();
+    Set<AgentSummary> currentAgents = app.getAgents();
 
     return div(
       currentAgents != null && !currentAgents.isEmpty() ?
@@ -1,6 +1,6 @@
 package dev.rebelcraft.ai.spawn.apps;
 
-import dev.rebelcraft.ai.spawn.agents.AgentResponse;
+import dev.rebelcraft.ai.spawn.agents.AgentSummary;
 import dev.rebelcraft.ai.spawn.models.ModelResponse;
 import dev.rebelcraft.ai.spawn.web.view.PageView;
 import j2html.tags.DomContent;
@@ -31,7 +31,7 @@ public class ApplicationFormPage extends PageView {
     @SuppressWarnings("unchecked")
     List<ModelResponse> models = (List<ModelResponse>) model.get("models");
     @SuppressWarnings("unchecked")
-    List<AgentResponse> agents = (List<AgentResponse>) model.get("agents");
+    List<AgentSummary> agents = (List<AgentSummary>) model.get("agents");
 
     boolean isEdit = applicationId != null;
 
@@ -163,9 +163,9 @@ public class ApplicationFormPage extends PageView {
     return options.toArray(new DomContent[0]);
   }
 
-  private DomContent[] renderAgentOptions(List<AgentResponse> agents) {
+  private DomContent[] renderAgentOptions(List<AgentSummary> agents) {
      // Sort alphabetically
-    List<AgentResponse> sortedAgents = agents.stream()
+    List<AgentSummary> sortedAgents = agents.stream()
         .sorted((a, b) -> a.getName().compareToIgnoreCase(b.getName()))
         .toList();
 
@@ -1,11 +1,51 @@
 package dev.rebelcraft.ai.spawn.apps;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
     Optional<Application> findByName(String name);
+
+    /**
+     * Load all applications together with their model providers and agent names
+     * in a single query, avoiding a select per lazy collection per row.
+     */
+    @EntityGraph(attributePaths = {"modelProviders", "agentNames"})
+    @Query("select a from Application a")
+    List<Application> findAllWithAssociations();
+
+    /**
+     * The most recent applications, newest first, limited by the given page.
+     * Collections are left lazy; callers that only show names and dates never touch them.
+     */
+    List<Application> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"modelProviders", "agentNames"})
+    List<Application> findAllWithAssociationsByIdIn(Collection<Long> ids);
+
+    // Keyset pagination, newest first. Only ids are paged so the collection
+    // fetch above never has to be combined with a row limit.
+
+    @Query("select a.id from Application a order by a.createdAt desc, a.id desc")
+    List<Long> findFirstPageIds(Pageable pageable);
+
+    @Query("select a.id from Application a " +
+           "where a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id) " +
+           "order by a.createdAt desc, a.id desc")
+    List<Long> findPageIdsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("select a.id from Application a " +
+           "where a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :id) " +
+           "order by a.createdAt asc, a.id asc")
+    List<Long> findPageIdsBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
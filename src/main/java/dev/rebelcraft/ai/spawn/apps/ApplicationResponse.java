@@ -1,6 +1,6 @@
 package dev.rebelcraft.ai.spawn.apps;
 
-import dev.rebelcraft.ai.spawn.agents.AgentResponse;
+import dev.rebelcraft.ai.spawn.agents.AgentSummary;
 import dev.rebelcraft.ai.spawn.models.ModelResponse;
 
 import java.time.LocalDateTime;
@@ -13,7 +13,7 @@ public class ApplicationResponse {
     private String name;
     private LocalDateTime createdAt;
     private Set<ModelResponse> models = new HashSet<>();
-    private Set<AgentResponse> agents = new HashSet<>();
+    private Set<AgentSummary> agents = new HashSet<>();
 
     // Constructors
     public ApplicationResponse() {
@@ -58,11 +58,11 @@ public class ApplicationResponse {
         this.models = models;
     }
 
-    public Set<AgentResponse> getAgents() {
+    public Set<AgentSummary> getAgents() {
         return agents;
     }
 
-    public void setAgents(Set<AgentResponse> agents) {
+    public void setAgents(Set<AgentSummary> agents) {
         this.agents = agents;
     }
 
@@ -1,16 +1,23 @@
 package dev.rebelcraft.ai.spawn.apps;
 
-import dev.rebelcraft.ai.spawn.agents.AgentResponse;
+import dev.rebelcraft.ai.spawn.agents.AgentSummary;
 import dev.rebelcraft.ai.spawn.agents.AgentService;
 import dev.rebelcraft.ai.spawn.mcp.McpServerService;
 import dev.rebelcraft.ai.spawn.models.ModelResponse;
 import dev.rebelcraft.ai.spawn.models.ModelService;
+import dev.rebelcraft.ai.spawn.utils.KeysetCursor;
+import dev.rebelcraft.ai.spawn.utils.KeysetPage;
 import dev.rebelcraft.ai.spawn.utils.ResourceNotFoundException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,42 +44,73 @@ public class ApplicationService {
         Application application = new Application(request.getName());
         
         // Validate and set model providers
+        modelService.validateProviders(request.getModelProviders());
         if (request.getModelProviders() != null) {
-            for (String provider : request.getModelProviders()) {
-                Optional<ModelResponse> model = modelService.getModelByProvider(provider);
-                if (model.isEmpty()) {
-                    throw new IllegalArgumentException("Model provider not found: " + provider);
-                }
-                application.addModelProvider(provider);
-            }
+            request.getModelProviders().forEach(application::addModelProvider);
         }
         
         // Validate and set agent names
+        Map<String, AgentSummary> agents = resolveAgents(request.getAgentNames());
         if (request.getAgentNames() != null) {
-            for (String agentName : request.getAgentNames()) {
-                try {
-                    // Validate agent exists by trying to find it by name
-                    agentService.getAllAgents().stream()
-                        .filter(a -> a.getName().equals(agentName))
-                        .findFirst()
-                        .orElseThrow(() -> new IllegalArgumentException("Agent not found: " + agentName));
-                    application.addAgentName(agentName);
-                } catch (Exception e) {
-                    throw new IllegalArgumentException("Agent not found: " + agentName);
-                }
-            }
+            request.getAgentNames().forEach(application::addAgentName);
         }
         
         Application savedApplication = applicationRepository.save(application);
-        return toResponse(savedApplication);
+        return toResponse(savedApplication, agents);
     }
 
     public List<ApplicationResponse> getAllApplications() {
-        return applicationRepository.findAll().stream()
-            .map(this::toResponse)
+        return toResponses(applicationRepository.findAllWithAssociations());
+    }
+
+    /**
+     * The {@code limit} most recently created applications, newest first. Only id,
+     * name and creation time are populated, so no models or agents are resolved.
+     */
+    public List<ApplicationResponse> getRecentApplications(int limit) {
+        return applicationRepository.findAllByOrderByCreatedAtDescIdDesc(PageRequest.of(0, limit)).stream()
+            .map(application -> new ApplicationResponse(
+                application.getId(),
+                application.getName(),
+                application.getCreatedAt()))
             .collect(Collectors.toList());
     }
 
+    /**
+     * Fetch one page of applications, newest first. At most one of {@code after}
+     * and {@code before} is expected; with neither the first page is returned.
+     */
+    public KeysetPage<ApplicationResponse> getApplicationsPage(String after, String before, int size) {
+        int limit = KeysetPage.clampSize(size);
+        Pageable probe = PageRequest.of(0, limit + 1);
+        boolean backward = before != null;
+
+        List<Long> ids;
+        if (backward) {
+            KeysetCursor cursor = KeysetCursor.parse(before);
+            ids = applicationRepository.findPageIdsBefore(cursor.getCreatedAt(), cursor.getId(), probe);
+        } else if (after != null) {
+            KeysetCursor cursor = KeysetCursor.parse(after);
+            ids = applicationRepository.findPageIdsAfter(cursor.getCreatedAt(), cursor.getId(), probe);
+        } else {
+            ids = applicationRepository.findFirstPageIds(probe);
+        }
+
+        boolean more = ids.size() > limit;
+        List<Application> rows = new ArrayList<>(
+            applicationRepository.findAllWithAssociationsByIdIn(more ? ids.subList(0, limit) : ids));
+        rows.sort(Comparator.comparing(Application::getCreatedAt)
+            .thenComparing(Application::getId)
+            .reversed());
+
+        return KeysetPage.of(
+            toResponses(rows),
+            app -> new KeysetCursor(app.getCreatedAt(), app.getId()),
+            backward ? more : after != null,
+            backward || more
+        );
+    }
+
     public ApplicationResponse getApplicationById(Long id) {
         Application application = applicationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Application not found with id: " + id));
@@ -86,35 +124,21 @@ public class ApplicationService {
         application.setName(request.getName());
         
         // Replace model providers
+        modelService.validateProviders(request.getModelProviders());
         application.getModelProviders().clear();
         if (request.getModelProviders() != null) {
-            for (String provider : request.getModelProviders()) {
-                Optional<ModelResponse> model = modelService.getModelByProvider(provider);
-                if (model.isEmpty()) {
-                    throw new IllegalArgumentException("Model provider not found: " + provider);
-                }
-                application.addModelProvider(provider);
-            }
+            request.getModelProviders().forEach(application::addModelProvider);
         }
         
         // Replace agent names
+        Map<String, AgentSummary> agents = resolveAgents(request.getAgentNames());
         application.getAgentNames().clear();
         if (request.getAgentNames() != null) {
-            for (String agentName : request.getAgentNames()) {
-                try {
-                    agentService.getAllAgents().stream()
-                        .filter(a -> a.getName().equals(agentName))
-                        .findFirst()
-                        .orElseThrow(() -> new IllegalArgumentException("Agent not found: " + agentName));
-                    application.addAgentName(agentName);
-                } catch (Exception e) {
-                    throw new IllegalArgumentException("Agent not found: " + agentName);
-                }
-            }
+            request.getAgentNames().forEach(application::addAgentName);
         }
         
         Application updatedApplication = applicationRepository.save(application);
-        return toResponse(updatedApplication);
+        return toResponse(updatedApplication, agents);
     }
 
     public void deleteApplication(Long id) {
@@ -129,10 +153,7 @@ public class ApplicationService {
             .orElseThrow(() -> new ResourceNotFoundException("Application not found with id: " + applicationId));
         
         // Validate that the model provider exists in CSV
-        Optional<ModelResponse> model = modelService.getModelByProvider(modelProvider);
-        if (model.isEmpty()) {
-            throw new IllegalArgumentException("Model provider not found: " + modelProvider);
-        }
+        modelService.validateProviders(Set.of(modelProvider));
         
         application.addModelProvider(modelProvider);
         Application updatedApplication = applicationRepository.save(application);
@@ -153,10 +174,7 @@ public class ApplicationService {
             .orElseThrow(() -> new ResourceNotFoundException("Application not found with id: " + applicationId));
         
         // Validate that the agent exists
-        agentService.getAllAgents().stream()
-            .filter(a -> a.getName().equals(agentName))
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Agent not found: " + agentName));
+        resolveAgents(Set.of(agentName));
         
         application.addAgentName(agentName);
         Application updatedApplication = applicationRepository.save(application);
@@ -172,7 +190,51 @@ public class ApplicationService {
         return toResponse(updatedApplication);
     }
 
+    /**
+     * Look up the given agent names in one query, failing on the first name that
+     * does not match an existing agent.
+     */
+    private Map<String, AgentSummary> resolveAgents(Set<String> agentNames) {
+        Map<String, AgentSummary> agents = agentService.getAgentSummariesByNames(agentNames);
+        if (agentNames != null) {
+            for (String agentName : agentNames) {
+                if (!agents.containsKey(agentName)) {
+                    throw new IllegalArgumentException("Agent not found: " + agentName);
+                }
+            }
+        }
+        return agents;
+    }
+
+    /**
+     * Convert a page of applications, resolving the agents and models of all of them
+     * at once so the number of queries does not grow with the number of rows.
+     */
+    private List<ApplicationResponse> toResponses(List<Application> applications) {
+        Set<String> agentNames = applications.stream()
+            .flatMap(application -> application.getAgentNames().stream())
+            .collect(Collectors.toSet());
+        Set<String> providers = applications.stream()
+            .flatMap(application -> application.getModelProviders().stream())
+            .collect(Collectors.toSet());
+        Map<String, AgentSummary> agents = agentService.getAgentSummariesByNames(agentNames);
+        Map<String, ModelResponse> models = modelService.getModelsByProviders(providers);
+        return applications.stream()
+            .map(application -> toResponse(application, agents, models))
+            .collect(Collectors.toList());
+    }
+
     private ApplicationResponse toResponse(Application application) {
+        return toResponse(application, agentService.getAgentSummariesByNames(application.getAgentNames()));
+    }
+
+    private ApplicationResponse toResponse(Application application, Map<String, AgentSummary> agentsByName) {
+        return toResponse(application, agentsByName, modelService.getModelsByProviders(application.getModelProviders()));
+    }
+
+    private ApplicationResponse toResponse(Application application,
+                                           Map<String, AgentSummary> agentsByName,
+                                           Map<String, ModelResponse> modelsByProvider) {
         ApplicationResponse response = new ApplicationResponse(
             application.getId(),
             application.getName(),
@@ -182,21 +244,17 @@ public class ApplicationService {
         // Convert model providers to ModelResponse objects
         if (application.getModelProviders() != null && !application.getModelProviders().isEmpty()) {
             Set<ModelResponse> models = application.getModelProviders().stream()
-                .map(provider -> modelService.getModelByProvider(provider))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+                .map(modelsByProvider::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
             response.setModels(models);
         }
         
-        // Convert agent names to AgentResponse objects
+        // Convert agent names to AgentSummary objects; prompts are only needed to deploy
         if (application.getAgentNames() != null && !application.getAgentNames().isEmpty()) {
-            Set<AgentResponse> agents = application.getAgentNames().stream()
-                .map(name -> agentService.getAllAgents().stream()
-                    .filter(a -> a.getName().equals(name))
-                    .findFirst())
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+            Set<AgentSummary> agents = application.getAgentNames().stream()
+                .map(agentsByName::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
             response.setAgents(agents);
         }
@@ -21,6 +21,9 @@ public class ApplicationsListPage extends PageView {
 
       @SuppressWarnings("unchecked")
     List<ApplicationResponse> applications = (List<ApplicationResponse>) model.get("applications");
+    String previousCursor = (String) model.get("previousCursor");
+    String nextCursor = (String) model.get("nextCursor");
+    int pageSize = (Integer) model.get("pageSize");
 
     return createPage(
       "Applications - Spawn",
@@ -33,7 +36,8 @@ public class ApplicationsListPage extends PageView {
             h1("Applications"),
             a(attrs(".btn.btn-primary"), "Create New Application").withHref("/applications/new")
           ),
-          applicationsTable(applications)
+          applicationsTable(applications),
+          pagination("/applications", pageSize, previousCursor, nextCursor)
         )
       )
     );
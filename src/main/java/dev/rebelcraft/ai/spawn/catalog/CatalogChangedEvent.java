@@ -0,0 +1,38 @@
+package dev.rebelcraft.ai.spawn.catalog;
+
+import java.util.Set;
+
+/**
+ * Published by {@link CatalogWatcher} after files in the catalog directory have
+ * settled. Paths are relative to the directory, e.g. {@code templates/GitHub.json}.
+ */
+public class CatalogChangedEvent {
+
+    private final Set<String> changedFiles;
+
+    public CatalogChangedEvent(Set<String> changedFiles) {
+        this.changedFiles = Set.copyOf(changedFiles);
+    }
+
+    public Set<String> getChangedFiles() {
+        return changedFiles;
+    }
+
+    public boolean affectsModels() {
+        return changedFiles.contains(CatalogDirectory.MODELS_FILE);
+    }
+
+    public boolean affectsMcpServers() {
+        return changedFiles.contains(CatalogDirectory.MCP_SERVERS_FILE);
+    }
+
+    public boolean affectsTemplates() {
+        return changedFiles.stream().anyMatch(file ->
+            file.equals(CatalogDirectory.TEMPLATES_DIR) || file.startsWith(CatalogDirectory.TEMPLATES_DIR + "/"));
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogChangedEvent" + changedFiles;
+    }
+}
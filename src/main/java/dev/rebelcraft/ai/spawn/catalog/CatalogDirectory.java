@@ -0,0 +1,61 @@
+package dev.rebelcraft.ai.spawn.catalog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * An optional filesystem directory whose files take the place of the bundled
+ * catalogs: {@code models.csv}, {@code mcp_servers.csv} and {@code templates/*.json}.
+ * Any file that is not there falls back to the configured default.
+ */
+@Component
+public class CatalogDirectory {
+
+    public static final String MODELS_FILE = "models.csv";
+    public static final String MCP_SERVERS_FILE = "mcp_servers.csv";
+    public static final String TEMPLATES_DIR = "templates";
+
+    private final Path directory;
+
+    public CatalogDirectory(@Value("${spawn.catalog.directory:}") String directory) {
+        this.directory = directory == null || directory.isBlank() ? null : Paths.get(directory).toAbsolutePath();
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public Optional<Path> getDirectory() {
+        return Optional.ofNullable(directory);
+    }
+
+    /**
+     * {@code filename} in the directory when it exists there, otherwise {@code fallback}.
+     */
+    public Resource resolve(String filename, Resource fallback) {
+        if (directory != null) {
+            Path file = directory.resolve(filename);
+            if (Files.isRegularFile(file)) {
+                return new FileSystemResource(file);
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Location pattern for the template files in the directory, if it has a templates folder.
+     */
+    public Optional<String> getTemplatesPattern() {
+        if (directory == null || !Files.isDirectory(directory.resolve(TEMPLATES_DIR))) {
+            return Optional.empty();
+        }
+        return Optional.of(directory.resolve(TEMPLATES_DIR).toUri() + "*.json");
+    }
+}
@@ -0,0 +1,144 @@
+package dev.rebelcraft.ai.spawn.catalog;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the {@link CatalogDirectory} and its templates folder on a background
+ * thread. Changes are collected until the directory has been quiet for the settle
+ * delay, so an editor's save or a copy of many files causes one reload, and are then
+ * published as a {@link CatalogChangedEvent} for the catalog services to reload from.
+ */
+@Component
+public class CatalogWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogWatcher.class);
+
+    private final CatalogDirectory catalogDirectory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration settleDelay;
+    private WatchService watchService;
+    private Thread thread;
+
+    public CatalogWatcher(CatalogDirectory catalogDirectory,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${spawn.catalog.reload-delay:PT0.5S}") Duration settleDelay) {
+        this.catalogDirectory = catalogDirectory;
+        this.eventPublisher = eventPublisher;
+        this.settleDelay = settleDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() throws IOException {
+        if (!catalogDirectory.isEnabled() || thread != null) {
+            return;
+        }
+        Path directory = catalogDirectory.getDirectory().orElseThrow();
+        if (!Files.isDirectory(directory)) {
+            logger.warn("Catalog directory {} does not exist, not watching it", directory);
+            return;
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        register(directory);
+        Path templates = directory.resolve(CatalogDirectory.TEMPLATES_DIR);
+        if (Files.isDirectory(templates)) {
+            register(templates);
+        }
+
+        thread = new Thread(() -> watch(directory), "spawn-catalog-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching catalog directory {}", directory);
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void register(Path path) throws IOException {
+        path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+    }
+
+    private void watch(Path directory) {
+        try {
+            while (true) {
+                Set<String> changed = new HashSet<>();
+                WatchKey key = watchService.take();
+                // Keep collecting until nothing has happened for the settle delay
+                while (key != null) {
+                    collect(directory, key, changed);
+                    key = watchService.poll(settleDelay.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (!changed.isEmpty()) {
+                    logger.info("Catalog files changed: {}", changed);
+                    publish(changed);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    private void collect(Path directory, WatchKey key, Set<String> changed) {
+        Path watched = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                // Events were lost, so reload everything
+                changed.add(CatalogDirectory.MODELS_FILE);
+                changed.add(CatalogDirectory.MCP_SERVERS_FILE);
+                changed.add(CatalogDirectory.TEMPLATES_DIR);
+                continue;
+            }
+            Path path = watched.resolve((Path) event.context());
+            String relative = directory.relativize(path).toString().replace('\\', '/');
+            changed.add(relative);
+
+            // A templates folder created after startup has to be watched as well
+            if (event.kind() == ENTRY_CREATE && relative.equals(CatalogDirectory.TEMPLATES_DIR)
+                    && Files.isDirectory(path)) {
+                try {
+                    register(path);
+                } catch (IOException e) {
+                    logger.error("Failed to watch {}", path, e);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    private void publish(Set<String> changed) {
+        try {
+            eventPublisher.publishEvent(new CatalogChangedEvent(changed));
+        } catch (RuntimeException e) {
+            logger.error("Failed to reload catalogs after {}", changed, e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import dev.rebelcraft.ai.spawn.docker.DockerTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Content-addressed lookup of previously built images. An entry only counts as a
+ * hit while its image still exists on the Docker host; otherwise it is rebuilt.
+ */
+@Component
+public class BuildCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildCache.class);
+
+    private final BuildCacheRepository repository;
+    private final DockerTemplate dockerTemplate;
+
+    public BuildCache(BuildCacheRepository repository, DockerTemplate dockerTemplate) {
+        this.repository = repository;
+        this.dockerTemplate = dockerTemplate;
+    }
+
+    public Optional<String> findImage(String contentHash) {
+        Optional<BuildCacheEntry> entry = repository.findById(contentHash);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        BuildCacheEntry cached = entry.get();
+        if (!dockerTemplate.imageExists(cached.getImageId())) {
+            logger.info("Cached image {} for {} is gone, rebuilding", cached.getImageId(), contentHash);
+            repository.delete(cached);
+            return Optional.empty();
+        }
+        cached.setLastUsedAt(LocalDateTime.now());
+        repository.save(cached);
+        return Optional.of(cached.getImageId());
+    }
+
+    public void record(String contentHash, String imageId) {
+        repository.save(new BuildCacheEntry(contentHash, imageId));
+    }
+}
@@ -0,0 +1,70 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Maps the content hash of a deployment bundle to the image that was built from it.
+ */
+@Entity
+@Table(name = "deployment_build_cache")
+public class BuildCacheEntry {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "image_id", nullable = false)
+    private String imageId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+
+    // Constructors
+    public BuildCacheEntry() {
+    }
+
+    public BuildCacheEntry(String contentHash, String imageId) {
+        this.contentHash = contentHash;
+        this.imageId = imageId;
+        this.createdAt = LocalDateTime.now();
+        this.lastUsedAt = createdAt;
+    }
+
+    // Getters and Setters
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(String imageId) {
+        this.imageId = imageId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    public void setLastUsedAt(LocalDateTime lastUsedAt) {
+        this.lastUsedAt = lastUsedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BuildCacheRepository extends JpaRepository<BuildCacheEntry, String> {
+}
@@ -0,0 +1,30 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+/**
+ * The rendered build context for one application, identified by a hash of its
+ * contents. Two bundles with the same hash produce the same image.
+ */
+public class DeploymentBundle {
+
+    private final String dockerfile;
+    private final byte[] config;
+    private final String contentHash;
+
+    public DeploymentBundle(String dockerfile, byte[] config, String contentHash) {
+        this.dockerfile = dockerfile;
+        this.config = config;
+        this.contentHash = contentHash;
+    }
+
+    public String getDockerfile() {
+        return dockerfile;
+    }
+
+    public byte[] getConfig() {
+        return config;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+}
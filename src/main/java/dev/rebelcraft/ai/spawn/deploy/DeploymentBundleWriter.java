@@ -0,0 +1,157 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.rebelcraft.ai.spawn.agents.AgentResponse;
+import dev.rebelcraft.ai.spawn.apps.ApplicationResponse;
+import dev.rebelcraft.ai.spawn.mcp.McpTemplateService;
+import dev.rebelcraft.ai.spawn.models.ModelResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Renders the Docker build context for an application: a Dockerfile on top of the
+ * runtime base image plus the resolved application configuration it reads at boot.
+ * <p>
+ * The configuration is serialized canonically (sorted keys and collections) so that
+ * an unchanged application always renders to the same bytes and the same
+ * {@link DeploymentBundle#getContentHash() content hash}.
+ */
+@Component
+public class DeploymentBundleWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeploymentBundleWriter.class);
+
+    static final String CONFIG_FILENAME = "spawn-config.json";
+
+    private final ObjectMapper objectMapper;
+    private final McpTemplateService templateService;
+
+    public DeploymentBundleWriter(ObjectMapper objectMapper,
+                                  McpTemplateService templateService) {
+        this.objectMapper = objectMapper.copy()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+        this.templateService = templateService;
+    }
+
+    /**
+     * Render the bundle for an application and its agents, which are passed in full
+     * because the application's own agent list carries no system prompts. The base
+     * image should be pinned by digest, so that it is covered by the content hash.
+     */
+    public DeploymentBundle render(ApplicationResponse application, Collection<AgentResponse> agents,
+                                   String baseImage) throws IOException {
+        byte[] config = objectMapper.writeValueAsBytes(describe(application, agents));
+        String dockerfile = dockerfile(application, baseImage);
+        return new DeploymentBundle(dockerfile, config, contentHash(dockerfile, config));
+    }
+
+    public Path write(DeploymentBundle bundle) throws IOException {
+        Path dir = Files.createTempDirectory("spawn-deploy-");
+        Files.write(dir.resolve(CONFIG_FILENAME), bundle.getConfig());
+        Files.writeString(dir.resolve("Dockerfile"), bundle.getDockerfile(), StandardCharsets.UTF_8);
+        return dir;
+    }
+
+    public void delete(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Failed to clean up deployment bundle {}", dir, e);
+        }
+    }
+
+    private static String dockerfile(ApplicationResponse application, String baseImage) {
+        return "FROM " + baseImage + "\n" +
+               "LABEL dev.rebelcraft.spawn.application-id=\"" + application.getId() + "\"\n" +
+               "COPY " + CONFIG_FILENAME + " /app/" + CONFIG_FILENAME + "\n";
+    }
+
+    private Map<String, Object> describe(ApplicationResponse application, Collection<AgentResponse> agentResponses)
+            throws JsonProcessingException {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("name", application.getName());
+        config.put("models", application.getModels().stream()
+            .map(ModelResponse::getProvider)
+            .sorted()
+            .toList());
+
+        List<AgentResponse> agents = agentResponses.stream()
+            .sorted(Comparator.comparing(AgentResponse::getName))
+            .toList();
+        config.put("agents", agents.stream().map(this::describe).toList());
+
+        // Compiled once per distinct server, however many agents share it
+        Map<String, Object> mcpServers = new TreeMap<>();
+        for (String serverName : mcpServerNames(agents)) {
+            var template = templateService.getTemplateForServer(serverName);
+            if (template.isPresent()) {
+                mcpServers.put(serverName, objectMapper.readValue(templateService.compileTemplate(template.get()), Map.class));
+            }
+        }
+        config.put("mcpServers", mcpServers);
+        return config;
+    }
+
+    private Map<String, Object> describe(AgentResponse agent) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("name", agent.getName());
+        config.put("description", agent.getDescription());
+        config.put("systemPrompt", agent.getSystemPrompt());
+        config.put("mcpServers", agent.getMcpServerNames() != null
+            ? new TreeSet<>(agent.getMcpServerNames())
+            : List.of());
+        return config;
+    }
+
+    private static TreeSet<String> mcpServerNames(List<AgentResponse> agents) {
+        TreeSet<String> names = new TreeSet<>();
+        for (AgentResponse agent : agents) {
+            if (agent.getMcpServerNames() != null) {
+                names.addAll(agent.getMcpServerNames());
+            }
+        }
+        return names;
+    }
+
+    private static String contentHash(String dockerfile, byte[] config) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(dockerfile.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(config);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
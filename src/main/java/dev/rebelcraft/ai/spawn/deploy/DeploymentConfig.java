@@ -0,0 +1,9 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class DeploymentConfig {
+}
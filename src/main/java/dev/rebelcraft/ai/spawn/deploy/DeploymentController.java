@@ -0,0 +1,37 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Controller
+public class DeploymentController {
+
+    private static final int RECENT_JOBS = 50;
+
+    private final DeploymentService deploymentService;
+
+    public DeploymentController(DeploymentService deploymentService) {
+        this.deploymentService = deploymentService;
+    }
+
+    @GetMapping("/deployments")
+    public String listDeployments(Model model) {
+        model.addAttribute("jobs", deploymentService.getRecentJobs(RECENT_JOBS));
+        return "deploymentsListPage";
+    }
+
+    @PostMapping("/deployments")
+    public String deployApplications(@RequestParam List<Long> applicationIds) {
+        deploymentService.deployApplications(applicationIds);
+        return "redirect:/deployments";
+    }
+
+    @PostMapping("/applications/{applicationId}/deploy")
+    public String deployApplication(@PathVariable Long applicationId) {
+        deploymentService.deployApplication(applicationId);
+        return "redirect:/applications/" + applicationId;
+    }
+}
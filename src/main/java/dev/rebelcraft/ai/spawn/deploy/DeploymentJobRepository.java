@@ -0,0 +1,46 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeploymentJobRepository extends JpaRepository<DeploymentJob, Long> {
+
+    List<DeploymentJob> findByApplicationIdOrderByIdDesc(Long applicationId, Pageable pageable);
+
+    List<DeploymentJob> findAllByOrderByIdDesc(Pageable pageable);
+
+    @Query("select j.id from DeploymentJob j " +
+           "where j.status = dev.rebelcraft.ai.spawn.deploy.DeploymentStatus.QUEUED and j.nextAttemptAt <= :now " +
+           "order by j.nextAttemptAt asc, j.id asc")
+    List<Long> findDueJobIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Atomically move a due job from QUEUED to BUILDING. Returns 0 when another
+     * worker claimed it first, so each attempt runs exactly once.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update DeploymentJob j set j.status = dev.rebelcraft.ai.spawn.deploy.DeploymentStatus.BUILDING, " +
+           "j.attempts = j.attempts + 1, j.startedAt = :now " +
+           "where j.id = :id and j.status = dev.rebelcraft.ai.spawn.deploy.DeploymentStatus.QUEUED")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Put jobs left in flight by a previous process back on the queue.
+     */
+    @Transactional
+    @Modifying
+    @Query("update DeploymentJob j set j.status = dev.rebelcraft.ai.spawn.deploy.DeploymentStatus.QUEUED, j.nextAttemptAt = :now " +
+           "where j.status in :statuses")
+    int requeue(@Param("statuses") Collection<DeploymentStatus> statuses, @Param("now") LocalDateTime now);
+}
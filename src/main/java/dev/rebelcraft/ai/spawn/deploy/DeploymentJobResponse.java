@@ -0,0 +1,136 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import java.time.LocalDateTime;
+
+public class DeploymentJobResponse {
+
+    private Long id;
+    private Long applicationId;
+    private String applicationName;
+    private DeploymentStatus status;
+    private int attempts;
+    private int maxAttempts;
+    private String imageId;
+    private String containerId;
+    private String contentHash;
+    private boolean cacheHit;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public DeploymentJobResponse() {
+    }
+
+    public DeploymentJobResponse(Long id, Long applicationId, String applicationName, DeploymentStatus status) {
+        this.id = id;
+        this.applicationId = applicationId;
+        this.applicationName = applicationName;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public void setApplicationName(String applicationName) {
+        this.applicationName = applicationName;
+    }
+
+    public DeploymentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DeploymentStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public String getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(String imageId) {
+        this.imageId = imageId;
+    }
+
+    public String getContainerId() {
+        return containerId;
+    }
+
+    public void setContainerId(String containerId) {
+        this.containerId = containerId;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+
+    public void setCacheHit(boolean cacheHit) {
+        this.cacheHit = cacheHit;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
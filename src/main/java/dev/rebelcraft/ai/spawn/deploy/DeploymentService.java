@@ -0,0 +1,105 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import dev.rebelcraft.ai.spawn.apps.ApplicationResponse;
+import dev.rebelcraft.ai.spawn.apps.ApplicationService;
+import dev.rebelcraft.ai.spawn.utils.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class DeploymentService {
+
+    private final DeploymentJobRepository jobRepository;
+    private final ApplicationService applicationService;
+    private final DeploymentWorker worker;
+    private final int maxAttempts;
+
+    public DeploymentService(DeploymentJobRepository jobRepository,
+                             ApplicationService applicationService,
+                             DeploymentWorker worker,
+                             @Value("${spawn.deploy.max-attempts:3}") int maxAttempts) {
+        this.jobRepository = jobRepository;
+        this.applicationService = applicationService;
+        this.worker = worker;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Queue a build and deploy of the application and return immediately; the job
+     * runs on the deployment pool once this transaction commits.
+     */
+    public DeploymentJobResponse deployApplication(Long applicationId) {
+        return deployApplications(List.of(applicationId)).get(0);
+    }
+
+    public List<DeploymentJobResponse> deployApplications(Collection<Long> applicationIds) {
+        List<DeploymentJob> jobs = new ArrayList<>(applicationIds.size());
+        for (Long applicationId : applicationIds) {
+            ApplicationResponse application = applicationService.getApplicationById(applicationId);
+            jobs.add(new DeploymentJob(application.getId(), application.getName(), maxAttempts));
+        }
+        List<DeploymentJob> saved = jobRepository.saveAll(jobs);
+        submitAfterCommit(saved.stream().map(DeploymentJob::getId).toList());
+        return saved.stream().map(this::toResponse).collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public DeploymentJobResponse getJobById(Long id) {
+        DeploymentJob job = jobRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Deployment job not found with id: " + id));
+        return toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeploymentJobResponse> getRecentJobs(int limit) {
+        return jobRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit)).stream()
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeploymentJobResponse> getJobsForApplication(Long applicationId, int limit) {
+        return jobRepository.findByApplicationIdOrderByIdDesc(applicationId, PageRequest.of(0, limit)).stream()
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    private void submitAfterCommit(List<Long> jobIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jobIds.forEach(worker::submit);
+            return;
+        }
+        // Workers read the job in their own transaction, so it has to be committed first
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                jobIds.forEach(worker::submit);
+            }
+        });
+    }
+
+    private DeploymentJobResponse toResponse(DeploymentJob job) {
+        DeploymentJobResponse response = new DeploymentJobResponse(
+            job.getId(), job.getApplicationId(), job.getApplicationName(), job.getStatus());
+        response.setAttempts(job.getAttempts());
+        response.setMaxAttempts(job.getMaxAttempts());
+        response.setImageId(job.getImageId());
+        response.setContainerId(job.getContainerId());
+        response.setContentHash(job.getContentHash());
+        response.setCacheHit(job.isCacheHit());
+        response.setLastError(job.getLastError());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        return response;
+    }
+}
@@ -0,0 +1,13 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+public enum DeploymentStatus {
+    QUEUED,
+    BUILDING,
+    STARTING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
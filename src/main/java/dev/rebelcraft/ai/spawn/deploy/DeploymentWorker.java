@@ -0,0 +1,259 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import dev.rebelcraft.ai.spawn.agents.AgentService;
+import dev.rebelcraft.ai.spawn.agents.AgentSummary;
+import dev.rebelcraft.ai.spawn.apps.ApplicationResponse;
+import dev.rebelcraft.ai.spawn.apps.ApplicationService;
+import dev.rebelcraft.ai.spawn.docker.DockerTemplate;
+import dev.rebelcraft.ai.spawn.docker.DockerUnavailableException;
+import dev.rebelcraft.ai.spawn.utils.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs deployment jobs on a bounded pool, off the request thread.
+ * <p>
+ * New jobs are handed over straight after they are committed. Anything the pool
+ * cannot take, retries whose backoff has elapsed and jobs interrupted by a restart
+ * stay QUEUED in the database and are picked up by the poller.
+ */
+@Component
+public class DeploymentWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeploymentWorker.class);
+
+    private final DeploymentJobRepository jobRepository;
+    private final ApplicationService applicationService;
+    private final AgentService agentService;
+    private final DeploymentBundleWriter bundleWriter;
+    private final BuildCache buildCache;
+    private final DockerTemplate dockerTemplate;
+    private final String baseImage;
+    private final Duration baseImageRefresh;
+    private final Duration retryBackoff;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<PinnedImage> pinnedBaseImage = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<String>> baseImageResolution = new AtomicReference<>();
+
+    public DeploymentWorker(DeploymentJobRepository jobRepository,
+                            ApplicationService applicationService,
+                            AgentService agentService,
+                            DeploymentBundleWriter bundleWriter,
+                            BuildCache buildCache,
+                            DockerTemplate dockerTemplate,
+                            @Value("${spawn.deploy.base-image}") String baseImage,
+                            @Value("${spawn.deploy.base-image-refresh:PT15M}") Duration baseImageRefresh,
+                            @Value("${spawn.deploy.workers:4}") int workers,
+                            @Value("${spawn.deploy.queue-capacity:100}") int queueCapacity,
+                            @Value("${spawn.deploy.retry-backoff:PT30S}") Duration retryBackoff) {
+        this.jobRepository = jobRepository;
+        this.applicationService = applicationService;
+        this.agentService = agentService;
+        this.bundleWriter = bundleWriter;
+        this.buildCache = buildCache;
+        this.dockerTemplate = dockerTemplate;
+        this.baseImage = baseImage;
+        this.baseImageRefresh = baseImageRefresh;
+        this.retryBackoff = retryBackoff;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "spawn-deploy-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Hand a queued job to the pool. If the pool is saturated the job simply stays
+     * QUEUED and the poller submits it once there is room.
+     */
+    public void submit(Long jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(jobId);
+            logger.debug("Deployment pool is full, job {} stays queued", jobId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${spawn.deploy.poll-interval:PT5S}")
+    public void pollQueue() {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        jobRepository.findDueJobIds(LocalDateTime.now(), PageRequest.of(0, capacity))
+            .forEach(this::submit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterruptedJobs() {
+        int requeued = jobRepository.requeue(
+            List.of(DeploymentStatus.BUILDING, DeploymentStatus.STARTING), LocalDateTime.now());
+        if (requeued > 0) {
+            logger.info("Requeued {} deployment jobs interrupted by a restart", requeued);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void run(Long jobId) {
+        if (jobRepository.claim(jobId, LocalDateTime.now()) == 0) {
+            return;
+        }
+        DeploymentJob job = jobRepository.findById(jobId).orElseThrow();
+        Path bundleDir = null;
+        try {
+            ApplicationResponse application = applicationService.getApplicationById(job.getApplicationId());
+            List<String> agentNames = application.getAgents().stream().map(AgentSummary::getName).toList();
+            DeploymentBundle bundle = bundleWriter.render(application, agentService.getAgentsByNames(agentNames).values(),
+                pinnedBaseImage());
+            job.setContentHash(bundle.getContentHash());
+
+            // Unchanged configuration: reuse the image built for it last time
+            Optional<String> cachedImage = buildCache.findImage(bundle.getContentHash());
+            String imageId;
+            if (cachedImage.isPresent()) {
+                imageId = cachedImage.get();
+                job.setCacheHit(true);
+                logger.info("Reusing image {} for application {} (job {})", imageId, job.getApplicationId(), jobId);
+            } else {
+                bundleDir = bundleWriter.write(bundle);
+                imageId = dockerTemplate.buildImage(bundleDir, imageTag(job));
+                buildCache.record(bundle.getContentHash(), imageId);
+            }
+            job.setImageId(imageId);
+            job.setStatus(DeploymentStatus.STARTING);
+            job = jobRepository.save(job);
+
+            String containerId = dockerTemplate.startContainer(imageId, containerName(job));
+            job.setContainerId(containerId);
+            job.setStatus(DeploymentStatus.SUCCEEDED);
+            job.setLastError(null);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            logger.info("Deployed application {} as container {} (job {})", job.getApplicationId(), containerId, jobId);
+        } catch (Exception e) {
+            fail(job, e);
+        } finally {
+            bundleWriter.delete(bundleDir);
+        }
+    }
+
+    /**
+     * The base image pinned to the digest its tag named when last resolved, so the
+     * content hash changes when the tag moves. The pull is repeated at most once per
+     * {@code base-image-refresh}, by whichever job first finds the digest stale; jobs
+     * arriving meanwhile use the last digest instead of waiting. If the registry
+     * cannot be reached, the last digest is kept for another refresh period so cached
+     * images can still be deployed.
+     */
+    private String pinnedBaseImage() {
+        PinnedImage current = pinnedBaseImage.get();
+        if (current != null && System.nanoTime() - current.resolvedAtNanos() < baseImageRefresh.toNanos()) {
+            return current.reference();
+        }
+        CompletableFuture<String> resolution = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = baseImageResolution.compareAndExchange(null, resolution);
+        if (inFlight != null) {
+            // Only the very first jobs have nothing to fall back on
+            return current != null ? current.reference() : join(inFlight);
+        }
+        try {
+            String reference = dockerTemplate.resolveImage(baseImage);
+            pinnedBaseImage.set(new PinnedImage(reference, System.nanoTime()));
+            resolution.complete(reference);
+            return reference;
+        } catch (RuntimeException e) {
+            resolution.completeExceptionally(e);
+            if (current == null) {
+                throw e;
+            }
+            logger.warn("Cannot resolve base image {}, keeping {}: {}", baseImage, current.reference(), e.getMessage());
+            pinnedBaseImage.set(new PinnedImage(current.reference(), System.nanoTime()));
+            return current.reference();
+        } finally {
+            baseImageResolution.set(null);
+        }
+    }
+
+    private static String join(CompletableFuture<String> resolution) {
+        try {
+            return resolution.join();
+        } catch (CompletionException e) {
+            // Rethrown as the resolving job saw it, so failures are classified the same way
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void fail(DeploymentJob job, Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        job.setLastError(message.length() > DeploymentJob.MAX_ERROR_LENGTH
+            ? message.substring(0, DeploymentJob.MAX_ERROR_LENGTH)
+            : message);
+
+        boolean retryable = !(e instanceof ResourceNotFoundException || e instanceof DockerUnavailableException);
+        if (retryable && job.getAttempts() < job.getMaxAttempts()) {
+            job.setStatus(DeploymentStatus.QUEUED);
+            job.setNextAttemptAt(LocalDateTime.now().plus(retryBackoff.multipliedBy(job.getAttempts())));
+            logger.warn("Deployment job {} failed (attempt {} of {}), will retry: {}",
+                job.getId(), job.getAttempts(), job.getMaxAttempts(), message);
+        } else {
+            job.setStatus(DeploymentStatus.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+            logger.error("Deployment job {} failed: {}", job.getId(), message, e);
+        }
+        jobRepository.save(job);
+    }
+
+    private static String imageTag(DeploymentJob job) {
+        return "spawn/app-" + job.getApplicationId() + ":" + job.getId();
+    }
+
+    private static String containerName(DeploymentJob job) {
+        return "spawn-app-" + job.getApplicationId() + "-" + job.getId();
+    }
+
+    private record PinnedImage(String reference, long resolvedAtNanos) {
+    }
+}
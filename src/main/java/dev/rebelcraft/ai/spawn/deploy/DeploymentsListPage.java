@@ -0,0 +1,81 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import dev.rebelcraft.ai.spawn.web.view.PageView;
+import j2html.tags.DomContent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+import static dev.rebelcraft.ai.spawn.web.view.DefaultPageLayout.*;
+import static j2html.TagCreator.*;
+
+@Component
+public class DeploymentsListPage extends PageView {
+
+  @Override
+  protected DomContent renderPage(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) {
+
+    @SuppressWarnings("unchecked")
+    List<DeploymentJobResponse> jobs = (List<DeploymentJobResponse>) model.get("jobs");
+
+    return createPage(
+      "Deployments - Spawn",
+      ACTIVATE_DEPLOYMENTS_NAV_LINK,
+      each(
+        h1(attrs(".mb-3"), "Deployments"),
+        deploymentsTable(jobs)
+      )
+    );
+  }
+
+  /**
+   * Deployment jobs with their current status, shared with the application detail page.
+   */
+  public static DomContent deploymentsTable(List<DeploymentJobResponse> jobs) {
+    if (jobs == null || jobs.isEmpty()) {
+      return div(attrs(".alert.alert-info"), "No deployments yet.");
+    }
+
+    return table(
+      attrs(".table.table-striped"),
+      thead(
+        tr(
+          th("Job"),
+          th("Application"),
+          th("Status"),
+          th("Attempts"),
+          th("Container"),
+          th("Created At"),
+          th("Error")
+        )
+      ),
+      tbody(
+        each(jobs, job -> tr(
+          td(job.getId().toString()),
+          td(a(job.getApplicationName()).withHref("/applications/" + job.getApplicationId())),
+          td(
+            span(attrs(statusBadge(job.getStatus())), job.getStatus().name()),
+            job.isCacheHit() ? span(attrs(".badge.bg-light.text-dark.ms-1"), "cached image") : text("")
+          ),
+          td(job.getAttempts() + " / " + job.getMaxAttempts()),
+          td(job.getContainerId() != null ? job.getContainerId() : ""),
+          td(job.getCreatedAt() != null ? job.getCreatedAt().toString() : ""),
+          td(job.getLastError() != null ? job.getLastError() : "")
+        ))
+      )
+    );
+  }
+
+  private static String statusBadge(DeploymentStatus status) {
+    return switch (status) {
+      case SUCCEEDED -> ".badge.bg-success";
+      case FAILED -> ".badge.bg-danger";
+      case QUEUED -> ".badge.bg-secondary";
+      default -> ".badge.bg-primary";
+    };
+  }
+
+}
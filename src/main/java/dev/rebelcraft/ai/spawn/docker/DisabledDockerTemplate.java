@@ -0,0 +1,32 @@
+package dev.rebelcraft.ai.spawn.docker;
+
+import java.nio.file.Path;
+
+/**
+ * Used when {@code docker.enabled=false}; every operation fails with a clear message
+ * so deployment jobs end up FAILED instead of hanging.
+ */
+public class DisabledDockerTemplate implements DockerTemplate {
+
+    static final String MESSAGE = "Docker integration is disabled (set docker.enabled=true)";
+
+    @Override
+    public String buildImage(Path contextDir, String tag) {
+        throw new DockerUnavailableException(MESSAGE);
+    }
+
+    @Override
+    public String resolveImage(String image) {
+        throw new DockerUnavailableException(MESSAGE);
+    }
+
+    @Override
+    public boolean imageExists(String imageId) {
+        throw new DockerUnavailableException(MESSAGE);
+    }
+
+    @Override
+    public String startContainer(String imageId, String containerName) {
+        throw new DockerUnavailableException(MESSAGE);
+    }
+}
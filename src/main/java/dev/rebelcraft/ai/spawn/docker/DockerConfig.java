@@ -0,0 +1,63 @@
+package dev.rebelcraft.ai.spawn.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.AuthConfig;
+import com.github.dockerjava.core.DefaultDockerClientConfig;
+import com.github.dockerjava.core.DockerClientImpl;
+import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class DockerConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "docker.enabled", havingValue = "true")
+    public DockerClient dockerClient(@Value("${docker.host}") String host,
+                                     @Value("${docker.tlsVerify:false}") boolean tlsVerify,
+                                     @Value("${docker.certPath:#{null}}") String certPath,
+                                     @Value("${docker.apiVersion:#{null}}") String apiVersion) {
+        DefaultDockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withDockerHost(host)
+            .withDockerTlsVerify(tlsVerify)
+            .withDockerCertPath(certPath)
+            .withApiVersion(apiVersion)
+            .build();
+
+        ApacheDockerHttpClient httpClient = new ApacheDockerHttpClient.Builder()
+            .dockerHost(config.getDockerHost())
+            .sslConfig(config.getSSLConfig())
+            .build();
+
+        return DockerClientImpl.getInstance(config, httpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "docker.enabled", havingValue = "true")
+    public DockerTemplate dockerTemplate(DockerClient dockerClient,
+                                         @Value("${docker.registryUrl:#{null}}") String registryUrl,
+                                         @Value("${docker.registryUsername:#{null}}") String registryUsername,
+                                         @Value("${docker.registryPassword:#{null}}") String registryPassword,
+                                         @Value("${docker.registryEmail:#{null}}") String registryEmail,
+                                         @Value("${spawn.deploy.build-timeout:PT10M}") Duration buildTimeout) {
+        AuthConfig registryAuth = null;
+        if (registryUsername != null) {
+            registryAuth = new AuthConfig()
+                .withRegistryAddress(registryUrl)
+                .withUsername(registryUsername)
+                .withPassword(registryPassword)
+                .withEmail(registryEmail);
+        }
+        return new DockerJavaTemplate(dockerClient, registryAuth, buildTimeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "docker.enabled", havingValue = "false", matchIfMissing = true)
+    public DockerTemplate disabledDockerTemplate() {
+        return new DisabledDockerTemplate();
+    }
+}
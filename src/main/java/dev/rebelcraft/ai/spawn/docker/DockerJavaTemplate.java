@@ -0,0 +1,100 @@
+package dev.rebelcraft.ai.spawn.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.BuildImageResultCallback;
+import com.github.dockerjava.api.command.CreateContainerResponse;
+import com.github.dockerjava.api.command.InspectImageResponse;
+import com.github.dockerjava.api.command.PullImageResultCallback;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.AuthConfig;
+import com.github.dockerjava.api.model.AuthConfigurations;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DockerTemplate} backed by the docker-java client.
+ */
+public class DockerJavaTemplate implements DockerTemplate {
+
+    private final DockerClient dockerClient;
+    private final AuthConfig registryAuth;
+    private final Duration buildTimeout;
+
+    public DockerJavaTemplate(DockerClient dockerClient, AuthConfig registryAuth, Duration buildTimeout) {
+        this.dockerClient = dockerClient;
+        this.registryAuth = registryAuth;
+        this.buildTimeout = buildTimeout;
+    }
+
+    @Override
+    public String buildImage(Path contextDir, String tag) {
+        var command = dockerClient.buildImageCmd(contextDir.toFile())
+            .withTags(Set.of(tag));
+        if (registryAuth != null) {
+            AuthConfigurations authConfigs = new AuthConfigurations();
+            authConfigs.addConfig(registryAuth);
+            command.withBuildAuthConfigs(authConfigs);
+        }
+        return command.exec(new BuildImageResultCallback())
+            .awaitImageId(buildTimeout.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    @Override
+    public String resolveImage(String image) {
+        if (image.contains("@sha256:")) {
+            return image;
+        }
+        String repository = repository(image);
+        var command = dockerClient.pullImageCmd(image);
+        if (registryAuth != null) {
+            command.withAuthConfig(registryAuth);
+        }
+        try {
+            if (!command.exec(new PullImageResultCallback()).awaitCompletion(buildTimeout.toSeconds(), TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out pulling " + image);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted pulling " + image, e);
+        }
+
+        InspectImageResponse inspected = dockerClient.inspectImageCmd(image).exec();
+        if (inspected.getRepoDigests() != null) {
+            for (String digest : inspected.getRepoDigests()) {
+                if (digest.startsWith(repository + "@")) {
+                    return digest;
+                }
+            }
+        }
+        // Only on this host, so there is no registry digest; the image id is content-addressed too
+        return inspected.getId();
+    }
+
+    // The image reference without its tag; a colon after the last slash starts the tag
+    private static String repository(String image) {
+        int colon = image.lastIndexOf(':');
+        return colon > image.lastIndexOf('/') ? image.substring(0, colon) : image;
+    }
+
+    @Override
+    public boolean imageExists(String imageId) {
+        try {
+            dockerClient.inspectImageCmd(imageId).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String startContainer(String imageId, String containerName) {
+        CreateContainerResponse container = dockerClient.createContainerCmd(imageId)
+            .withName(containerName)
+            .exec();
+        dockerClient.startContainerCmd(container.getId()).exec();
+        return container.getId();
+    }
+}
@@ -0,0 +1,37 @@
+package dev.rebelcraft.ai.spawn.docker;
+
+import java.nio.file.Path;
+
+/**
+ * The Docker operations Spawn needs to build and run a generated application.
+ * Kept deliberately small so deployments can be tested against a fake.
+ */
+public interface DockerTemplate {
+
+    /**
+     * Build an image from a directory containing a Dockerfile.
+     *
+     * @return the id of the built image
+     */
+    String buildImage(Path contextDir, String tag);
+
+    /**
+     * Pull the image and return a reference to exactly the content pulled, such as
+     * {@code repository@sha256:...}, so a moved tag cannot be mistaken for the image
+     * it used to name. References that are already pinned by digest are returned as
+     * they are.
+     */
+    String resolveImage(String image);
+
+    /**
+     * Whether an image with the given id is still present on the Docker host.
+     */
+    boolean imageExists(String imageId);
+
+    /**
+     * Create and start a container from an image.
+     *
+     * @return the id of the started container
+     */
+    String startContainer(String imageId, String containerName);
+}
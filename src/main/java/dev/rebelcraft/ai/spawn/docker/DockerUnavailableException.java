@@ -0,0 +1,11 @@
+package dev.rebelcraft.ai.spawn.docker;
+
+/**
+ * Thrown when Docker cannot be used at all, as opposed to a single operation failing.
+ * Retrying a deployment will not help until the configuration changes.
+ */
+public class DockerUnavailableException extends RuntimeException {
+    public DockerUnavailableException(String message) {
+        super(message);
+    }
+}
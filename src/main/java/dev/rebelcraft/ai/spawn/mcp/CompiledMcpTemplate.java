@@ -0,0 +1,263 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An {@link McpTemplate} parsed once into a tree of JSON nodes whose strings are
+ * split into literal segments and {@code ${input:...}} slots. Writing it out is a
+ * single pass over that tree straight into a {@link JsonGenerator}; no intermediate
+ * maps or lists are built and no regular expressions run.
+ */
+public class CompiledMcpTemplate {
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\{input:([^}]+)\\}");
+
+    private final Node servers;
+    private final List<McpTemplate.McpTemplateInput> inputs;
+    private final Map<String, String> defaultInputs;
+    // Every slot id mapped back to its own ${input:id} reference
+    private final Map<String, String> inputReferences;
+
+    private CompiledMcpTemplate(Node servers, List<McpTemplate.McpTemplateInput> inputs,
+                                Map<String, String> defaultInputs, Map<String, String> inputReferences) {
+        this.servers = servers;
+        this.inputs = inputs;
+        this.defaultInputs = defaultInputs;
+        this.inputReferences = inputReferences;
+    }
+
+    public static CompiledMcpTemplate compile(McpTemplate template) {
+        Map<String, String> inputReferences = new LinkedHashMap<>();
+        Node servers = compileNode(template.getServers(), inputReferences);
+        return new CompiledMcpTemplate(servers,
+            template.getInputs() == null ? List.of() : List.copyOf(template.getInputs()),
+            defaultInputs(template), Collections.unmodifiableMap(inputReferences));
+    }
+
+    /**
+     * The value each input resolves to when nothing else is supplied: its default if
+     * it has one, a mask for passwords, otherwise an {@code <id>} hint.
+     */
+    public Map<String, String> getDefaultInputs() {
+        return defaultInputs;
+    }
+
+    /**
+     * Write just the value of {@code servers}, filling slots from {@code inputs}.
+     * Slots with no value are written as {@code <id>}.
+     */
+    public void writeServers(JsonGenerator generator, Map<String, String> inputs) throws IOException {
+        servers.write(generator, inputs);
+    }
+
+    /**
+     * Write each server as a field of an object the caller has already started, with
+     * {@code ${input:...}} references left in place. Servers whose name is already in
+     * {@code written} are skipped; the others are added to it.
+     */
+    public void writeServerFields(JsonGenerator generator, Set<String> written) throws IOException {
+        if (!(servers instanceof ObjectNode)) {
+            return;
+        }
+        ObjectNode object = (ObjectNode) servers;
+        for (int i = 0; i < object.names.length; i++) {
+            if (written.add(object.names[i])) {
+                generator.writeFieldName(object.names[i]);
+                object.values[i].write(generator, inputReferences);
+            }
+        }
+    }
+
+    /**
+     * Write each input definition as an element of an array the caller has already
+     * started. Inputs whose id is already in {@code written} are skipped; the others
+     * are added to it.
+     */
+    public void writeInputs(JsonGenerator generator, Set<String> written) throws IOException {
+        for (McpTemplate.McpTemplateInput input : inputs) {
+            if (input == null || input.getId() == null || !written.add(input.getId())) {
+                continue;
+            }
+            generator.writeStartObject();
+            writeIfPresent(generator, "type", input.getType());
+            generator.writeStringField("id", input.getId());
+            writeIfPresent(generator, "description", input.getDescription());
+            if (input.getPassword() != null) {
+                generator.writeBooleanField("password", input.getPassword());
+            }
+            writeIfPresent(generator, "default", input.getDefaultValue());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeIfPresent(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private static Map<String, String> defaultInputs(McpTemplate template) {
+        Map<String, String> resolved = new HashMap<>();
+        if (template.getInputs() != null) {
+            for (McpTemplate.McpTemplateInput input : template.getInputs()) {
+                String value;
+                if (input.getDefaultValue() != null && !input.getDefaultValue().isEmpty()) {
+                    value = input.getDefaultValue();
+                } else if (Boolean.TRUE.equals(input.getPassword())) {
+                    value = "*****";
+                } else {
+                    value = "<" + input.getId() + ">";
+                }
+                resolved.put(input.getId(), value);
+            }
+        }
+        return Collections.unmodifiableMap(resolved);
+    }
+
+    private static Node compileNode(Object value, Map<String, String> inputReferences) {
+        if (value instanceof String) {
+            return compileString((String) value, inputReferences);
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            String[] names = new String[map.size()];
+            Node[] values = new Node[map.size()];
+            int i = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                names[i] = String.valueOf(entry.getKey());
+                values[i] = compileNode(entry.getValue(), inputReferences);
+                i++;
+            }
+            return new ObjectNode(names, values);
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            Node[] items = new Node[list.size()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = compileNode(list.get(i), inputReferences);
+            }
+            return new ArrayNode(items);
+        }
+        // Numbers, booleans and null are written as they are
+        return new ValueNode(value);
+    }
+
+    private static Node compileString(String value, Map<String, String> inputReferences) {
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(value);
+        if (!matcher.find()) {
+            return new LiteralNode(value);
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int last = 0;
+        do {
+            literals.add(value.substring(last, matcher.start()));
+            slots.add(matcher.group(1));
+            inputReferences.putIfAbsent(matcher.group(1), matcher.group());
+            last = matcher.end();
+        } while (matcher.find());
+        literals.add(value.substring(last));
+        return new SplicedNode(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    private interface Node {
+        void write(JsonGenerator generator, Map<String, String> inputs) throws IOException;
+    }
+
+    private static class ObjectNode implements Node {
+        final String[] names;
+        final Node[] values;
+
+        ObjectNode(String[] names, Node[] values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, Map<String, String> inputs) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < names.length; i++) {
+                generator.writeFieldName(names[i]);
+                values[i].write(generator, inputs);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private static class ArrayNode implements Node {
+        final Node[] items;
+
+        ArrayNode(Node[] items) {
+            this.items = items;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, Map<String, String> inputs) throws IOException {
+            generator.writeStartArray();
+            for (Node item : items) {
+                item.write(generator, inputs);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static class LiteralNode implements Node {
+        final String value;
+
+        LiteralNode(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, Map<String, String> inputs) throws IOException {
+            generator.writeString(value);
+        }
+    }
+
+    /**
+     * A string with slots, stored as literals[0] slots[0] literals[1] ... slots[n-1] literals[n].
+     */
+    private static class SplicedNode implements Node {
+        final String[] literals;
+        final String[] slots;
+
+        SplicedNode(String[] literals, String[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, Map<String, String> inputs) throws IOException {
+            StringBuilder value = new StringBuilder(literals[0]);
+            for (int i = 0; i < slots.length; i++) {
+                String input = inputs.get(slots[i]);
+                value.append(input != null ? input : "<" + slots[i] + ">").append(literals[i + 1]);
+            }
+            generator.writeString(value.toString());
+        }
+    }
+
+    private static class ValueNode implements Node {
+        final Object value;
+
+        ValueNode(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, Map<String, String> inputs) throws IOException {
+            generator.writeObject(value);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes an MCP client configuration ({@code mcp.json}) that merges the templates of
+ * many MCP servers. Output goes straight from the compiled templates to the stream,
+ * so memory use does not depend on how many servers are written.
+ * <p>
+ * The result has an {@code inputs} array and a {@code servers} object, with
+ * {@code ${input:...}} references left for the client to resolve. Names that resolve
+ * to the same template are written once, as are servers and inputs that more than
+ * one template defines; the first definition wins. Servers without a template are
+ * left out.
+ */
+@Component
+public class McpConfigWriter {
+
+    private final McpTemplateService templateService;
+    private final ObjectMapper objectMapper;
+
+    public McpConfigWriter(McpTemplateService templateService, ObjectMapper objectMapper) {
+        this.templateService = templateService;
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(Collection<String> serverNames, OutputStream out) throws IOException {
+        List<CompiledMcpTemplate> templates = resolveTemplates(serverNames);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The stream belongs to the caller
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+
+            generator.writeArrayFieldStart("inputs");
+            Set<String> inputIds = new HashSet<>();
+            for (CompiledMcpTemplate template : templates) {
+                template.writeInputs(generator, inputIds);
+            }
+            generator.writeEndArray();
+
+            generator.writeObjectFieldStart("servers");
+            Set<String> servers = new HashSet<>();
+            for (CompiledMcpTemplate template : templates) {
+                template.writeServerFields(generator, servers);
+            }
+            generator.writeEndObject();
+
+            generator.writeEndObject();
+        }
+    }
+
+    private List<CompiledMcpTemplate> resolveTemplates(Collection<String> serverNames) {
+        // One entry per template file, in the order the names were given
+        Map<String, CompiledMcpTemplate> byFilename = new LinkedHashMap<>();
+        for (String serverName : serverNames) {
+            if (serverName == null) {
+                continue;
+            }
+            templateService.getTemplateFilenameForServer(serverName)
+                .filter(filename -> !byFilename.containsKey(filename))
+                .ifPresent(filename -> templateService.getTemplateForServer(serverName)
+                    .ifPresent(template -> byFilename.put(filename, templateService.getCompiledTemplate(template))));
+        }
+        return new ArrayList<>(byFilename.values());
+    }
+}
@@ -0,0 +1,55 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * An MCP server icon as served by the icon proxy, backed by its file in the icon
+ * cache. The ETag is derived from the content, so it only changes when the image does.
+ */
+public class McpIcon {
+
+    private final Path file;
+    private final String contentType;
+    private final String etag;
+    private final Instant lastModified;
+
+    // Constructors
+    public McpIcon(Path file, String contentType, String etag, Instant lastModified) {
+        this.file = file;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    // Getters
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Reads the cached file; responses should stream {@link #getFile()} instead.
+     */
+    public byte[] getContent() {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read cached icon " + file, e);
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,393 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-disk cache of the remote icons named in the MCP server catalog, so browsers
+ * load them from Spawn instead of the original hosts.
+ * <p>
+ * Each icon is stored under a hash of its URL together with the origin's
+ * {@code ETag} and {@code Last-Modified}. Once a copy is older than
+ * {@code refresh-after} it is still served straight away while a background thread
+ * revalidates it with a conditional request, so an unchanged icon costs the origin
+ * a 304 rather than the image, and a slow origin never holds up a page. A failed
+ * revalidation counts as an attempt, so the copy is not retried until it is stale
+ * again. Thumbnails are PNGs scaled from the cached original and stored next to it.
+ * The ETag served for an icon is the content hash recorded when the copy was written,
+ * so serving it, or answering a conditional request for it, never reads the image.
+ * <p>
+ * Only raster formats are accepted. Icons are served from Spawn's own origin, where
+ * an SVG or HTML document could run script.
+ */
+@Component
+public class McpIconCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpIconCache.class);
+
+    private static final int MAX_ICON_BYTES = 1024 * 1024;
+    // Checked before decoding, since a small file can declare enough pixels to exhaust the heap
+    static final int MAX_ICON_DIMENSION = 4096;
+    private static final Set<String> RASTER_TYPES = Set.of(
+        "image/png", "image/jpeg", "image/gif", "image/webp", "image/bmp",
+        "image/x-icon", "image/vnd.microsoft.icon");
+    private static final String CONTENT_TYPE = "contentType";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String FETCHED_AT = "fetchedAt";
+    private static final String CONTENT_HASH = "contentHash";
+
+    private final Path directory;
+    private final Duration refreshAfter;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final ThreadPoolExecutor refresher;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public McpIconCache(@Value("${spawn.mcp.icons.cache-directory:${java.io.tmpdir}/spawn-icons}") String directory,
+                        @Value("${spawn.mcp.icons.refresh-after:P1D}") Duration refreshAfter,
+                        @Value("${spawn.mcp.icons.timeout:PT5S}") Duration timeout) {
+        this.directory = Paths.get(directory).toAbsolutePath();
+        this.refreshAfter = refreshAfter;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.refresher = new ThreadPoolExecutor(
+            2, 2, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(256),
+            runnable -> {
+                Thread thread = new Thread(runnable, "spawn-icon-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * The icon at {@code url}, scaled to fit {@code size} pixels square when a size is
+     * given. Empty when the icon has never been fetched and cannot be now.
+     */
+    public Optional<McpIcon> getIcon(String url, Integer size) {
+        String key = sha256(url.getBytes(StandardCharsets.UTF_8));
+        try {
+            Optional<CachedFile> original = getOriginal(url, key);
+            if (original.isEmpty() || size == null) {
+                return original.isEmpty() ? Optional.empty() : Optional.of(toIcon(original.get()));
+            }
+            return Optional.of(toIcon(getThumbnail(original.get(), key, size)));
+        } catch (IOException e) {
+            logger.warn("Icon cache failed for {}: {}", url, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<CachedFile> getOriginal(String url, String key) throws IOException {
+        Path content = directory.resolve(key + ".img");
+        Properties metadata = readMetadata(directory.resolve(key + ".properties"));
+        // Copies cached before only raster types were accepted are fetched again
+        boolean cached = metadata != null && Files.isRegularFile(content)
+            && rasterType(metadata.getProperty(CONTENT_TYPE)) != null;
+        if (!cached) {
+            return fetch(url, key);
+        }
+        if (isStale(metadata)) {
+            refreshInBackground(url, key);
+        }
+        return Optional.of(cachedFile(content, directory.resolve(key + ".properties"), metadata));
+    }
+
+    // At most one refresh per icon at a time; when the pool is full the next request tries again
+    private void refreshInBackground(String url, String key) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    fetch(url, key);
+                } catch (IOException e) {
+                    logger.warn("Icon refresh failed for {}: {}", url, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Fetch the icon, conditionally if a copy is cached. Returns the cached copy when
+     * the origin cannot provide a new one, recording the attempt so it is not retried
+     * on every request.
+     */
+    private Optional<CachedFile> fetch(String url, String key) throws IOException {
+        Path content = directory.resolve(key + ".img");
+        Path metadataFile = directory.resolve(key + ".properties");
+        Properties metadata = readMetadata(metadataFile);
+        boolean cached = metadata != null && Files.isRegularFile(content)
+            && rasterType(metadata.getProperty(CONTENT_TYPE)) != null;
+
+        try {
+            URI uri = URI.create(url);
+            if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme())) {
+                return Optional.empty();
+            }
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+            if (cached && metadata.getProperty(ETAG) != null) {
+                request.header("If-None-Match", metadata.getProperty(ETAG));
+            }
+            if (cached && metadata.getProperty(LAST_MODIFIED) != null) {
+                request.header("If-Modified-Since", metadata.getProperty(LAST_MODIFIED));
+            }
+            HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            String contentType = rasterType(response.headers().firstValue("Content-Type").orElse(""));
+            long declaredLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+
+            // Closing the stream unread abandons the body, so nothing past the limit is ever buffered
+            try (InputStream body = response.body()) {
+                if (cached && response.statusCode() == 304) {
+                    metadata.setProperty(FETCHED_AT, String.valueOf(System.currentTimeMillis()));
+                    writeMetadata(metadataFile, metadata);
+                    return Optional.of(cachedFile(content, metadataFile, metadata));
+                }
+                byte[] image = response.statusCode() == 200 && contentType != null && declaredLength <= MAX_ICON_BYTES
+                    ? body.readNBytes(MAX_ICON_BYTES + 1)
+                    : null;
+                if (image != null && image.length <= MAX_ICON_BYTES) {
+                    Properties fetched = new Properties();
+                    fetched.setProperty(CONTENT_TYPE, contentType);
+                    fetched.setProperty(FETCHED_AT, String.valueOf(System.currentTimeMillis()));
+                    fetched.setProperty(CONTENT_HASH, sha256(image));
+                    response.headers().firstValue("ETag").ifPresent(etag -> fetched.setProperty(ETAG, etag));
+                    response.headers().firstValue("Last-Modified").ifPresent(date -> fetched.setProperty(LAST_MODIFIED, date));
+                    // Content before metadata, so metadata never describes a missing file
+                    write(content, image);
+                    writeMetadata(metadataFile, fetched);
+                    return Optional.of(new CachedFile(content, contentType, fetched.getProperty(CONTENT_HASH)));
+                }
+                boolean tooLarge = image != null || declaredLength > MAX_ICON_BYTES;
+                logger.warn("Icon {} answered {} with {}", url, response.statusCode(), tooLarge
+                    ? "more than " + MAX_ICON_BYTES + " bytes"
+                    : response.headers().firstValue("Content-Type").orElse("no type"));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Cannot fetch icon {}: {}", url, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!cached) {
+            return Optional.empty();
+        }
+        // Keep the stale copy, and wait a full refresh period before asking again
+        metadata.setProperty(FETCHED_AT, String.valueOf(System.currentTimeMillis()));
+        writeMetadata(metadataFile, metadata);
+        return Optional.of(cachedFile(content, metadataFile, metadata));
+    }
+
+    /**
+     * The cached original described by {@code metadata}. Copies cached before content
+     * hashes were recorded are hashed once here and the hash saved with them.
+     */
+    private CachedFile cachedFile(Path content, Path metadataFile, Properties metadata) throws IOException {
+        String hash = metadata.getProperty(CONTENT_HASH);
+        if (hash == null) {
+            hash = sha256(Files.readAllBytes(content));
+            metadata.setProperty(CONTENT_HASH, hash);
+            writeMetadata(metadataFile, metadata);
+        }
+        return new CachedFile(content, metadata.getProperty(CONTENT_TYPE), hash);
+    }
+
+    private CachedFile getThumbnail(CachedFile original, String key, int size) throws IOException {
+        Path thumbnail = directory.resolve(key + "-" + size + ".png");
+        if (Files.isRegularFile(thumbnail)
+                && Files.getLastModifiedTime(thumbnail).compareTo(Files.getLastModifiedTime(original.path)) >= 0) {
+            return new CachedFile(thumbnail, "image/png", original.hash + "-" + size);
+        }
+        byte[] resized = resize(Files.readAllBytes(original.path), size);
+        if (resized == null) {
+            // Raster formats ImageIO cannot read, such as WebP, are served as they are
+            return original;
+        }
+        write(thumbnail, resized);
+        // Scaling is deterministic, so the original's hash and the size identify the thumbnail
+        return new CachedFile(thumbnail, "image/png", original.hash + "-" + size);
+    }
+
+    /**
+     * The media type without parameters, if it is one of the accepted raster types.
+     */
+    static String rasterType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int parameters = contentType.indexOf(';');
+        String type = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim().toLowerCase(Locale.ROOT);
+        return RASTER_TYPES.contains(type) ? type : null;
+    }
+
+    private boolean isStale(Properties metadata) {
+        try {
+            long fetchedAt = Long.parseLong(metadata.getProperty(FETCHED_AT, "0"));
+            return System.currentTimeMillis() - fetchedAt >= refreshAfter.toMillis();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Scales the image down to fit {@code size} pixels square, keeping its aspect
+     * ratio. Images that are already small enough keep their size.
+     */
+    static byte[] resize(byte[] image, int size) throws IOException {
+        BufferedImage source = decode(image);
+        if (source == null) {
+            return null;
+        }
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, "png", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the image after checking the dimensions in its header, or returns null
+     * if no installed reader understands the format.
+     */
+    private static BufferedImage decode(byte[] image) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > MAX_ICON_DIMENSION || height > MAX_ICON_DIMENSION) {
+                    throw new IOException("Icon is " + width + "x" + height + " pixels, more than "
+                        + MAX_ICON_DIMENSION + " on a side");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static McpIcon toIcon(CachedFile file) throws IOException {
+        return new McpIcon(file.path, file.contentType, "\"" + file.hash + "\"",
+            Files.getLastModifiedTime(file.path).toInstant());
+    }
+
+    private static Properties readMetadata(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties metadata = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            metadata.load(in);
+        }
+        return metadata;
+    }
+
+    private void writeMetadata(Path file, Properties metadata) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        metadata.store(out, null);
+        write(file, out.toByteArray());
+    }
+
+    /**
+     * Writes through a temporary file and a rename, so concurrent readers see either
+     * the old file or the new one. Concurrent fetches of the same icon just overwrite
+     * each other with equal content.
+     */
+    private void write(Path file, byte[] content) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            out.write(content);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class CachedFile {
+        final Path path;
+        final String contentType;
+        final String hash;
+
+        CachedFile(Path path, String contentType, String hash) {
+            this.path = path;
+            this.contentType = contentType;
+            this.hash = hash;
+        }
+    }
+}
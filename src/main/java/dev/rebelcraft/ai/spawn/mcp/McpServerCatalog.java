@@ -0,0 +1,77 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable snapshot of the MCP server catalog, joined to its templates. A new
+ * snapshot with a higher version is published each time the catalog is reloaded,
+ * so callers can hold one for the length of a request, or compare versions to tell
+ * whether anything they derived from it is out of date.
+ */
+public class McpServerCatalog {
+
+    private final long version;
+    private final List<McpServer> servers;
+    // Catalog server name -> template filename, for servers that have a template
+    private final Map<String, String> templateFilenames;
+    private final McpServerSearchIndex index;
+    // Ordered ignoring case, so lookups match equalsIgnoreCase without lowercasing
+    private final NavigableSet<String> knownNames;
+
+    McpServerCatalog(long version, List<McpServer> servers, Map<String, String> templateFilenames) {
+        this.version = version;
+        this.servers = List.copyOf(servers);
+        this.templateFilenames = Map.copyOf(templateFilenames);
+        this.index = new McpServerSearchIndex(this.servers);
+        TreeSet<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (McpServer server : this.servers) {
+            names.add(server.getName());
+        }
+        this.knownNames = Collections.unmodifiableNavigableSet(names);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<McpServer> getServers() {
+        return servers;
+    }
+
+    public boolean isKnown(String serverName) {
+        return serverName != null && knownNames.contains(serverName);
+    }
+
+    /**
+     * The names that are not in the catalog, ignoring case. Returns an empty set
+     * without allocating when every name is known.
+     */
+    public Set<String> unmatchedNames(Collection<String> serverNames) {
+        Set<String> unmatched = null;
+        for (String name : serverNames) {
+            if (!isKnown(name)) {
+                if (unmatched == null) {
+                    unmatched = new HashSet<>();
+                }
+                unmatched.add(name);
+            }
+        }
+        return unmatched == null ? Set.of() : unmatched;
+    }
+
+    Optional<String> getTemplateFilename(String serverName) {
+        return Optional.ofNullable(templateFilenames.get(serverName));
+    }
+
+    McpServerSearchIndex getIndex() {
+        return index;
+    }
+}
@@ -1,28 +1,84 @@
 package dev.rebelcraft.ai.spawn.mcp;
 
+import dev.rebelcraft.ai.spawn.utils.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @Controller
 @RequestMapping("/mcp-servers")
 public class McpServerController {
 
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MIN_ICON_SIZE = 16;
+    private static final int MAX_ICON_SIZE = 256;
+
     private final McpServerService mcpServerService;
+    private final McpServerProber mcpServerProber;
+    private final McpIconCache iconCache;
+    private final CacheControl iconCacheControl;
 
-    public McpServerController(McpServerService mcpServerService) {
+    public McpServerController(McpServerService mcpServerService, McpServerProber mcpServerProber,
+                               McpIconCache iconCache,
+                               @Value("${spawn.mcp.icons.max-age:P7D}") Duration iconMaxAge) {
         this.mcpServerService = mcpServerService;
+        this.mcpServerProber = mcpServerProber;
+        this.iconCache = iconCache;
+        this.iconCacheControl = CacheControl.maxAge(iconMaxAge).cachePublic();
     }
 
     @GetMapping
-    public String listMcpServers(Model model) {
-        List<McpServerResponse> servers = mcpServerService.getAllMcpServers();
+    public String listMcpServers(@RequestParam(required = false) String q, Model model) {
+        List<McpServerResponse> servers = mcpServerService.searchMcpServers(q);
         model.addAttribute("servers", servers);
+        model.addAttribute("query", q == null ? "" : q.trim());
+        model.addAttribute("probes", mcpServerProber.getProbes());
         return "mcpServersListPage";
     }
 
+    @GetMapping("/autocomplete")
+    @ResponseBody
+    public List<McpServerResponse> autocomplete(@RequestParam String q,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return mcpServerService.suggestMcpServers(q, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    /**
+     * The server's icon from the local icon cache, optionally scaled to fit {@code size}
+     * pixels. Conditional requests with the returned ETag or Last-Modified get a 304,
+     * without the cached file being read.
+     * The icon is never sniffed or run as a document, whatever the origin sent.
+     */
+    @GetMapping("/{serverName}/icon")
+    public ResponseEntity<Resource> icon(@PathVariable String serverName,
+                                       @RequestParam(required = false) Integer size) {
+        if (size != null && (size < MIN_ICON_SIZE || size > MAX_ICON_SIZE)) {
+            return ResponseEntity.badRequest().build();
+        }
+        McpServerResponse server = mcpServerService.getMcpServerByName(serverName)
+            .orElseThrow(() -> new ResourceNotFoundException("MCP server not found: " + serverName));
+        McpIcon icon = iconCache.getIcon(server.getIcon(), size)
+            .orElseThrow(() -> new ResourceNotFoundException("Icon not available for MCP server: " + serverName));
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(icon.getContentType()))
+            .cacheControl(iconCacheControl)
+            .eTag(icon.getEtag())
+            .lastModified(icon.getLastModified())
+            .header("X-Content-Type-Options", "nosniff")
+            .header("Content-Security-Policy", "default-src 'none'; sandbox")
+            .body(new FileSystemResource(icon.getFile()));
+    }
+
     @PostMapping("/{serverName}/favorite")
     public String addFavorite(@PathVariable String serverName) {
         mcpServerService.addFavorite(serverName);
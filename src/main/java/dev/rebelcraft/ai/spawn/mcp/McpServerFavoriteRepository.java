@@ -1,6 +1,9 @@
 package dev.rebelcraft.ai.spawn.mcp;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -15,5 +18,9 @@ public interface McpServerFavoriteRepository extends JpaRepository<McpServerFavo
     
     boolean existsByServerName(String serverName);
     
-    void deleteByServerName(String serverName);
+    // A single delete statement, so a concurrent toggle that removed the row
+    // first leaves nothing to fail on
+    @Modifying
+    @Query("delete from McpServerFavorite f where f.serverName = :serverName")
+    void deleteByServerName(@Param("serverName") String serverName);
 }
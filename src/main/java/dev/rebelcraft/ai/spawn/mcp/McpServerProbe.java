@@ -0,0 +1,47 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import java.time.LocalDateTime;
+
+/**
+ * The outcome of the latest reachability check of an MCP server's HTTP endpoints.
+ * Any HTTP response counts as reachable; MCP endpoints commonly answer a bare
+ * request with 401 or 405.
+ */
+public class McpServerProbe {
+
+    private final boolean reachable;
+    private final Integer statusCode;
+    private final long latencyMillis;
+    private final LocalDateTime checkedAt;
+    private final String error;
+
+    // Constructors
+    public McpServerProbe(boolean reachable, Integer statusCode, long latencyMillis, LocalDateTime checkedAt, String error) {
+        this.reachable = reachable;
+        this.statusCode = statusCode;
+        this.latencyMillis = latencyMillis;
+        this.checkedAt = checkedAt;
+        this.error = error;
+    }
+
+    // Getters
+    public boolean isReachable() {
+        return reachable;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public LocalDateTime getCheckedAt() {
+        return checkedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,239 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks whether the HTTP endpoints declared by MCP server templates answer, and how
+ * quickly. Every endpoint is requested at once through the non-blocking HTTP client,
+ * at most {@code max-concurrency} in flight, each with a hard timeout. The latest
+ * result per server is kept for the list page.
+ * <p>
+ * Scheduled rounds run on the prober's own thread, so waiting for slow endpoints
+ * never holds up the shared scheduler; a round that is due while the previous one
+ * is still running is skipped.
+ */
+@Component
+public class McpServerProber {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpServerProber.class);
+
+    private final McpServerService mcpServerService;
+    private final McpTemplateService templateService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final Semaphore permits;
+    private final HttpClient httpClient;
+    private final AtomicReference<Map<String, McpServerProbe>> probes = new AtomicReference<>(Map.of());
+    private final ThreadPoolExecutor executor;
+
+    public McpServerProber(McpServerService mcpServerService,
+                           McpTemplateService templateService,
+                           ObjectMapper objectMapper,
+                           @Value("${spawn.mcp.probe.enabled:false}") boolean enabled,
+                           @Value("${spawn.mcp.probe.timeout:PT5S}") Duration timeout,
+                           @Value("${spawn.mcp.probe.max-concurrency:64}") int maxConcurrency) {
+        this.mcpServerService = mcpServerService;
+        this.templateService = templateService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.permits = new Semaphore(maxConcurrency);
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.executor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "spawn-mcp-probe");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @Scheduled(fixedDelayString = "${spawn.mcp.probe.interval:PT5M}",
+               initialDelayString = "${spawn.mcp.probe.initial-delay:PT10S}")
+    public void scheduledProbe() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(this::probeAll);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Previous MCP server probe still running, skipping this one");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Probe every templated server with HTTP endpoints and wait for the results. If
+     * interrupted, the stored results are left as they were and nothing is returned.
+     */
+    public Map<String, McpServerProbe> probeAll() {
+        Map<String, List<URI>> endpoints = new LinkedHashMap<>();
+        for (McpServerResponse server : mcpServerService.getAllMcpServers()) {
+            if (server.isTemplateAvailable()) {
+                List<URI> uris = httpEndpoints(server.getName());
+                if (!uris.isEmpty()) {
+                    endpoints.put(server.getName(), uris);
+                }
+            }
+        }
+        Map<String, McpServerProbe> results;
+        try {
+            results = probe(endpoints);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("MCP server probe interrupted");
+            return Map.of();
+        }
+        // Replaced whole, so servers that are gone or no longer have endpoints drop out and
+        // readers never see a mix of two rounds
+        probes.set(Map.copyOf(results));
+        logger.info("Probed {} MCP servers, {} reachable", results.size(),
+            results.values().stream().filter(McpServerProbe::isReachable).count());
+        return results;
+    }
+
+    public Optional<McpServerProbe> getProbe(String serverName) {
+        return Optional.ofNullable(probes.get().get(serverName));
+    }
+
+    public Map<String, McpServerProbe> getProbes() {
+        return probes.get();
+    }
+
+    /**
+     * Probe the given endpoints concurrently. A server is reachable when all of its
+     * endpoints answer; its latency is that of its slowest endpoint.
+     */
+    Map<String, McpServerProbe> probe(Map<String, List<URI>> endpointsByServer) throws InterruptedException {
+        Map<String, List<CompletableFuture<McpServerProbe>>> pending = new LinkedHashMap<>();
+        List<CompletableFuture<?>> requests = new ArrayList<>();
+        try {
+            for (Map.Entry<String, List<URI>> entry : endpointsByServer.entrySet()) {
+                List<CompletableFuture<McpServerProbe>> futures = new ArrayList<>();
+                for (URI uri : entry.getValue()) {
+                    futures.add(probe(uri, requests));
+                }
+                pending.put(entry.getKey(), futures);
+            }
+        } catch (InterruptedException e) {
+            // Cancel the requests themselves; cancelling derived stages would leave them running
+            requests.forEach(request -> request.cancel(true));
+            throw e;
+        }
+
+        Map<String, McpServerProbe> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<CompletableFuture<McpServerProbe>>> entry : pending.entrySet()) {
+            Iterator<CompletableFuture<McpServerProbe>> futures = entry.getValue().iterator();
+            McpServerProbe combined = futures.next().join();
+            while (futures.hasNext() && combined.isReachable()) {
+                McpServerProbe next = futures.next().join();
+                if (!next.isReachable() || next.getLatencyMillis() > combined.getLatencyMillis()) {
+                    combined = next;
+                }
+            }
+            results.put(entry.getKey(), combined);
+        }
+        return results;
+    }
+
+    private CompletableFuture<McpServerProbe> probe(URI uri, List<CompletableFuture<?>> requests)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+            .timeout(timeout)
+            .build();
+        permits.acquire();
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<Void>> sent;
+        try {
+            sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        } catch (RuntimeException e) {
+            // Reported like any other failure, and completed so the permit is released
+            sent = CompletableFuture.failedFuture(e);
+        }
+        // Tied to the request, so the permit comes back however it ends, even cancelled
+        sent.whenComplete((response, failure) -> permits.release());
+        requests.add(sent);
+        return sent
+            .handle((response, failure) -> {
+                long latency = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                if (failure == null) {
+                    return new McpServerProbe(true, response.statusCode(), latency, LocalDateTime.now(), null);
+                }
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+                String error = cause instanceof HttpTimeoutException
+                    ? "Timed out after " + timeout.toMillis() + " ms"
+                    : cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+                return new McpServerProbe(false, null, latency, LocalDateTime.now(), error);
+            });
+    }
+
+    /**
+     * URLs of the server's {@code http} and {@code sse} entries, with inputs filled
+     * from their defaults. URLs that still need an input are skipped.
+     */
+    private List<URI> httpEndpoints(String serverName) {
+        Optional<McpTemplate> template = templateService.getTemplateForServer(serverName);
+        if (template.isEmpty()) {
+            return List.of();
+        }
+        List<URI> uris = new ArrayList<>();
+        try {
+            JsonNode servers = objectMapper.readTree(templateService.compileTemplate(template.get())).path("servers");
+            for (JsonNode server : servers) {
+                String type = server.path("type").asText();
+                String url = server.path("url").asText("");
+                if (!(type.equals("http") || type.equals("sse")) || url.contains("<")) {
+                    continue;
+                }
+                URI uri = URI.create(url);
+                if ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) {
+                    uris.add(uri);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Cannot read HTTP endpoints of MCP server {}: {}", serverName, e.getMessage());
+        }
+        return uris;
+    }
+}
@@ -0,0 +1,165 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable search index over a list of MCP servers, built once per catalog.
+ * <p>
+ * Names and descriptions are split into lowercase words. Each field has a sorted
+ * dictionary of its words with the servers containing each one; every query word is
+ * a prefix, found with a binary search for the range of words starting with it (the
+ * same walk a trie does, in two flat arrays). A server matches when it matches every
+ * query word, so a query costs a few binary searches plus bitset unions and never
+ * touches servers that do not match.
+ */
+public class McpServerSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final List<McpServer> servers;
+    private final Dictionary names;
+    private final Dictionary all;
+    // Position of each server when sorted by name, for ranking suggestions
+    private final int[] nameRank;
+
+    public McpServerSearchIndex(List<McpServer> servers) {
+        this.servers = servers;
+        Map<String, BitSet> nameWords = new TreeMap<>();
+        Map<String, BitSet> allWords = new TreeMap<>();
+        for (int i = 0; i < servers.size(); i++) {
+            McpServer server = servers.get(i);
+            for (String word : words(server.getName())) {
+                nameWords.computeIfAbsent(word, w -> new BitSet()).set(i);
+                allWords.computeIfAbsent(word, w -> new BitSet()).set(i);
+            }
+            for (String word : words(server.getDescription())) {
+                allWords.computeIfAbsent(word, w -> new BitSet()).set(i);
+            }
+        }
+        this.names = new Dictionary(nameWords);
+        this.all = new Dictionary(allWords);
+
+        Integer[] byName = new Integer[servers.size()];
+        for (int i = 0; i < byName.length; i++) {
+            byName[i] = i;
+        }
+        Arrays.sort(byName, Comparator.comparing(i -> servers.get(i).getName(), String.CASE_INSENSITIVE_ORDER));
+        this.nameRank = new int[byName.length];
+        for (int rank = 0; rank < byName.length; rank++) {
+            nameRank[byName[rank]] = rank;
+        }
+    }
+
+    /**
+     * Servers whose name or description has a word starting with each word of the
+     * query, in catalog order. A blank query matches nothing.
+     */
+    public List<McpServer> search(String query) {
+        BitSet matches = match(all, query);
+        List<McpServer> result = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add(servers.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} servers whose name has a word starting with each word of the
+     * query. Names that start with the whole query come first, then by name.
+     */
+    public List<McpServer> suggest(String query, int limit) {
+        BitSet matches = match(names, query);
+        if (matches.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        String prefix = query.trim().toLowerCase(Locale.ROOT);
+        List<Integer> ranked = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            ranked.add(i);
+        }
+        ranked.sort(Comparator
+            .comparing((Integer i) -> !servers.get(i).getName().toLowerCase(Locale.ROOT).startsWith(prefix))
+            .thenComparingInt(i -> nameRank[i]));
+        List<McpServer> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            result.add(servers.get(ranked.get(i)));
+        }
+        return result;
+    }
+
+    private static BitSet match(Dictionary dictionary, String query) {
+        List<String> queryWords = words(query);
+        if (queryWords.isEmpty()) {
+            return new BitSet();
+        }
+        BitSet matches = null;
+        for (String word : queryWords) {
+            BitSet wordMatches = dictionary.withPrefix(word);
+            if (matches == null) {
+                matches = wordMatches;
+            } else {
+                matches.and(wordMatches);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Sorted words with the servers containing each.
+     */
+    private static class Dictionary {
+        final String[] words;
+        final BitSet[] postings;
+
+        Dictionary(Map<String, BitSet> sortedWords) {
+            this.words = sortedWords.keySet().toArray(new String[0]);
+            this.postings = sortedWords.values().toArray(new BitSet[0]);
+        }
+
+        BitSet withPrefix(String prefix) {
+            BitSet result = new BitSet();
+            for (int i = lowerBound(prefix); i < words.length && words[i].startsWith(prefix); i++) {
+                result.or(postings[i]);
+            }
+            return result;
+        }
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = words.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (words[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
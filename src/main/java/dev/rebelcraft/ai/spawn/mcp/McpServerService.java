@@ -1,44 +1,106 @@
 package dev.rebelcraft.ai.spawn.mcp;
 
-import org.springframework.core.io.ClassPathResource;
+import dev.rebelcraft.ai.spawn.catalog.CatalogChangedEvent;
+import dev.rebelcraft.ai.spawn.catalog.CatalogDirectory;
+import dev.rebelcraft.ai.spawn.utils.CsvReader;
+import dev.rebelcraft.ai.spawn.utils.FavoritesCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
 public class McpServerService {
 
-    private final List<McpServer> mcpServers;
-    private final McpServerFavoriteRepository favoriteRepository;
+    private static final Logger logger = LoggerFactory.getLogger(McpServerService.class);
+
+    // Swapped whole on reload, so every call works against one consistent catalog
+    private final AtomicReference<McpServerCatalog> catalog = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final Resource defaultCatalog;
+    private final CatalogDirectory catalogDirectory;
     private final McpTemplateService templateService;
+    private final McpServerFavoriteRepository favoriteRepository;
+    private final FavoritesCache favorites;
 
-    public McpServerService(McpServerFavoriteRepository favoriteRepository, McpTemplateService templateService) {
+    public McpServerService(McpServerFavoriteRepository favoriteRepository, McpTemplateService templateService,
+                            @Value("${spawn.catalog.mcp-servers:classpath:mcp/mcp_servers.csv}") Resource defaultCatalog,
+                            CatalogDirectory catalogDirectory) {
         this.favoriteRepository = favoriteRepository;
+        this.favorites = new FavoritesCache(
+            () -> favoriteRepository.findAll().stream().map(McpServerFavorite::getServerName).toList(),
+            favoriteRepository::existsByServerName);
         this.templateService = templateService;
-        this.mcpServers = loadMcpServersFromCsv();
+        this.defaultCatalog = defaultCatalog;
+        this.catalogDirectory = catalogDirectory;
+        List<McpServer> servers = loadMcpServersFromCsv(currentCatalog());
+        this.catalog.set(new McpServerCatalog(versions.incrementAndGet(), servers, joinTemplates(servers, templateService)));
+    }
+
+    /**
+     * Re-read mcp_servers.csv when it changes in the catalog directory, and re-join
+     * servers to templates when either side changes. Runs after the template service
+     * has handled the same event. A file that fails to load leaves the current catalog
+     * in place.
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.affectsMcpServers() && !event.affectsTemplates()) {
+            return;
+        }
+        try {
+            List<McpServer> servers = event.affectsMcpServers()
+                ? loadMcpServersFromCsv(currentCatalog())
+                : catalog.get().getServers();
+            catalog.set(new McpServerCatalog(versions.incrementAndGet(), servers, joinTemplates(servers, templateService)));
+            logger.info("Reloaded {} MCP servers", servers.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to reload MCP servers, keeping the current catalog", e);
+        }
+    }
+
+    private Resource currentCatalog() {
+        return catalogDirectory.resolve(CatalogDirectory.MCP_SERVERS_FILE, defaultCatalog);
     }
 
-    private List<McpServer> loadMcpServersFromCsv() {
+    /**
+     * Match every server to its template once, so responses never normalize names.
+     */
+    private static Map<String, String> joinTemplates(List<McpServer> servers, McpTemplateService templateService) {
+        Map<String, String> join = new HashMap<>();
+        for (McpServer server : servers) {
+            templateService.getTemplateFilenameForServer(server.getName())
+                .ifPresent(filename -> join.putIfAbsent(server.getName(), filename));
+        }
+        return Map.copyOf(join);
+    }
+
+    private List<McpServer> loadMcpServersFromCsv(Resource resource) {
         List<McpServer> loadedServers = new ArrayList<>();
         try {
-            ClassPathResource resource = new ClassPathResource("mcp/mcp_servers.csv");
-            try (BufferedReader reader = new BufferedReader(
+            try (CsvReader csv = new CsvReader(
                     new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
                 
                 // Skip header line
-                String headerLine = reader.readLine();
+                csv.readRecord();
                 
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    String[] fields = parseCsvLine(line);
+                String[] fields;
+                while ((fields = csv.readRecord()) != null) {
                     if (fields.length >= 3) {
                         McpServer server = new McpServer(
                             fields[0].trim(), // Name
@@ -56,79 +118,90 @@ public class McpServerService {
     }
 
     /**
-     * Parse a CSV line handling quoted fields properly
+     * The current catalog snapshot. It never changes; a reload publishes a new one.
      */
-    private String[] parseCsvLine(String line) {
-        List<String> fields = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentField = new StringBuilder();
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                fields.add(currentField.toString());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
-            }
-        }
-        fields.add(currentField.toString());
-        
-        return fields.toArray(new String[0]);
+    public McpServerCatalog getCatalog() {
+        return catalog.get();
     }
 
     public List<McpServerResponse> getAllMcpServers() {
-        // Get all favorites
-        Set<String> favoriteNames = favoriteRepository.findAll().stream()
-            .map(McpServerFavorite::getServerName)
-            .collect(Collectors.toSet());
-        
-        return mcpServers.stream()
-            .map(server -> toResponse(server, favoriteNames.contains(server.getName())))
+        McpServerCatalog current = catalog.get();
+        return toResponses(current, current.getServers());
+    }
+
+    /**
+     * Servers matching every word of the query by word prefix in their name or
+     * description, in catalog order. A blank query returns every server.
+     */
+    public List<McpServerResponse> searchMcpServers(String query) {
+        if (query == null || query.isBlank()) {
+            return getAllMcpServers();
+        }
+        McpServerCatalog current = catalog.get();
+        return toResponses(current, current.getIndex().search(query));
+    }
+
+    /**
+     * Up to {@code limit} servers whose name matches the query by word prefix, best
+     * matches first. Meant for as-you-type pickers.
+     */
+    public List<McpServerResponse> suggestMcpServers(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        McpServerCatalog current = catalog.get();
+        return toResponses(current, current.getIndex().suggest(query, limit));
+    }
+
+    private List<McpServerResponse> toResponses(McpServerCatalog current, List<McpServer> servers) {
+        return servers.stream()
+            .map(server -> toResponse(current, server, favorites.contains(server.getName())))
             .collect(Collectors.toList());
     }
 
     public Optional<McpServerResponse> getMcpServerByName(String name) {
-        boolean isFavorite = favoriteRepository.existsByServerName(name);
-        return mcpServers.stream()
-            .filter(server -> server.getName().equalsIgnoreCase(name))
-            .map(server -> toResponse(server, isFavorite))
-            .findFirst();
+        McpServerCatalog current = catalog.get();
+        return findServer(current, name)
+            .map(server -> toResponse(current, server, favorites.contains(server.getName())));
     }
 
     public void addFavorite(String serverName) {
-        // Check if server exists
-        boolean serverExists = mcpServers.stream()
-            .anyMatch(server -> server.getName().equalsIgnoreCase(serverName));
-        
-        if (!serverExists) {
-            throw new IllegalArgumentException("MCP server not found: " + serverName);
-        }
-        
-        // Add favorite if not already exists
-        if (!favoriteRepository.existsByServerName(serverName)) {
-            favoriteRepository.save(new McpServerFavorite(serverName));
+        McpServer server = findServer(catalog.get(), serverName)
+            .orElseThrow(() -> new IllegalArgumentException("MCP server not found: " + serverName));
+
+        // Favorites are stored under the catalog spelling so lookups in any case agree
+        if (!favoriteRepository.existsByServerName(server.getName())) {
+            try {
+                favoriteRepository.save(new McpServerFavorite(server.getName()));
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent toggle inserted it first; it is a favorite either way
+            }
         }
+        favorites.refresh(server.getName());
     }
 
     @Transactional
     public void removeFavorite(String serverName) {
-        favoriteRepository.deleteByServerName(serverName);
+        String canonicalName = findServer(catalog.get(), serverName).map(McpServer::getName).orElse(serverName);
+        favoriteRepository.deleteByServerName(canonicalName);
+        favorites.refresh(canonicalName);
+    }
+
+    private static Optional<McpServer> findServer(McpServerCatalog catalog, String name) {
+        return catalog.getServers().stream()
+            .filter(server -> server.getName().equalsIgnoreCase(name))
+            .findFirst();
     }
 
-    private McpServerResponse toResponse(McpServer server, boolean isFavorite) {
-        boolean templateAvailable = templateService.getTemplateForServer(server.getName()).isPresent();
-        String templateFilename = templateService.getTemplateFilenameForServer(server.getName()).orElse(null);
+    private static McpServerResponse toResponse(McpServerCatalog catalog, McpServer server, boolean isFavorite) {
+        String templateFilename = catalog.getTemplateFilename(server.getName()).orElse(null);
         
         return new McpServerResponse(
             server.getName(),
             server.getIcon(),
             server.getDescription(),
             isFavorite,
-            templateAvailable,
+            templateFilename != null,
             templateFilename
         );
     }
@@ -6,7 +6,9 @@ import j2html.tags.DomContent;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -16,11 +18,20 @@ import static j2html.TagCreator.*;
 @Component
 public class McpServersListPage extends PageView {
 
+  // Icons are shown at 32px; twice that keeps them sharp on high-density screens
+  private static final int ICON_SIZE = 64;
+
   @Override
   protected DomContent renderPage(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) {
 
     @SuppressWarnings("unchecked")
     List<McpServerResponse> servers = (List<McpServerResponse>) model.get("servers");
+    String query = (String) model.get("query");
+    @SuppressWarnings("unchecked")
+    Map<String, McpServerProbe> probes = (Map<String, McpServerProbe>) model.get("probes");
+    if (probes == null) {
+      probes = Map.of();
+    }
 
     // Split into favorites and non-favorites, both sorted alphabetically
     List<McpServerResponse> favorites = servers.stream()
@@ -44,19 +55,35 @@ public class McpServersListPage extends PageView {
             h1("MCP Servers"),
             p(attrs(".text-muted"), "These MCP servers are loaded from the mcp_servers.csv configuration file.")
           ),
-          each(renderServerSections(favorites, others))
+          searchForm(query),
+          each(renderServerSections(favorites, others, query, probes))
         )
       )
     );
   }
 
-  private DomContent[] renderServerSections(List<McpServerResponse> favorites, List<McpServerResponse> others) {
+  private DomContent searchForm(String query) {
+    boolean searching = query != null && !query.isEmpty();
+    return form(
+      attrs(".d-flex.mb-3"),
+      input(attrs(".form-control.me-2"))
+        .withType("search")
+        .withName("q")
+        .withValue(searching ? query : "")
+        .withPlaceholder("Search by name or description"),
+      button(attrs(".btn.btn-outline-primary"), "Search").withType("submit"),
+      searching ? a(attrs(".btn.btn-link"), "Clear").withHref("/mcp-servers") : text("")
+    ).withMethod("get").withAction("/mcp-servers");
+  }
+
+  private DomContent[] renderServerSections(List<McpServerResponse> favorites, List<McpServerResponse> others,
+                                            String query, Map<String, McpServerProbe> probes) {
     java.util.List<DomContent> sections = new java.util.ArrayList<>();
     
     if (!favorites.isEmpty()) {
       sections.add(div(
         h3("Favorites"),
-        serversTable(favorites)
+        serversTable(favorites, probes)
       ));
     }
     
@@ -64,21 +91,21 @@ public class McpServersListPage extends PageView {
       ContainerTag heading = favorites.isEmpty() ? h3("All MCP Servers") : h3(attrs(".mt-4"), "All MCP Servers");
       sections.add(div(
         heading,
-        serversTable(others)
+        serversTable(others, probes)
       ));
     }
     
     if (favorites.isEmpty() && others.isEmpty()) {
       sections.add(div(
         attrs(".alert.alert-info"),
-        "No MCP servers found."
+        query != null && !query.isEmpty() ? "No MCP servers match \"" + query + "\"." : "No MCP servers found."
       ));
     }
     
     return sections.toArray(new DomContent[0]);
   }
 
-  private ContainerTag serversTable(List<McpServerResponse> servers) {
+  private ContainerTag serversTable(List<McpServerResponse> servers, Map<String, McpServerProbe> probes) {
     if (servers == null || servers.isEmpty()) {
       return div(
         attrs(".alert.alert-info"),
@@ -95,6 +122,7 @@ public class McpServersListPage extends PageView {
             th("Name"),
             th("Icon"),
             th("Description"),
+            th("Status"),
             th("Actions")
           )
         ),
@@ -103,11 +131,13 @@ public class McpServersListPage extends PageView {
             td(server.getName()),
             td(
               img(attrs(".rounded-circle"))
-                .withSrc(server.getIcon())
+                .withSrc("/mcp-servers/" + UriUtils.encodePathSegment(server.getName(), StandardCharsets.UTF_8)
+                  + "/icon?size=" + ICON_SIZE)
                 .withAlt(server.getName() + " logo")
                 .withStyle("width: 32px; height: 32px;")
             ),
             td(server.getDescription()),
+            td(probeBadge(probes.get(server.getName()))),
             td(
               server.isFavorite() ?
                 form(
@@ -138,4 +168,16 @@ public class McpServersListPage extends PageView {
     );
   }
 
+  private DomContent probeBadge(McpServerProbe probe) {
+    if (probe == null) {
+      return span(attrs(".text-muted"), "—");
+    }
+    if (probe.isReachable()) {
+      return span(attrs(".badge.bg-success"), probe.getLatencyMillis() + " ms")
+        .withTitle("HTTP " + probe.getStatusCode() + ", checked " + probe.getCheckedAt());
+    }
+    return span(attrs(".badge.bg-danger"), "Unreachable")
+      .withTitle(probe.getError() + ", checked " + probe.getCheckedAt());
+  }
+
 }
@@ -1,12 +1,16 @@
 package dev.rebelcraft.ai.spawn.mcp;
 
+import dev.rebelcraft.ai.spawn.utils.CacheStats;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Controller
@@ -33,9 +37,7 @@ public class McpTemplateController {
         McpTemplate template = templateOpt.get();
         
         try {
-            // Get template raw JSON (pretty printed)
-            String templateRaw = templateService.compileTemplate(template); // Will use as base
-            // Get compiled preview with placeholders replaced
+            // Compiled preview with placeholders replaced, also used as the base view
             String templateCompiled = templateService.compileTemplate(template);
             
             // Get server info
@@ -44,7 +46,7 @@ public class McpTemplateController {
             model.addAttribute("serverName", serverName);
             model.addAttribute("serverDescription", serverOpt.map(McpServerResponse::getDescription).orElse(""));
             model.addAttribute("templateFilename", templateService.getTemplateFilenameForServer(serverName).orElse(""));
-            model.addAttribute("templateRaw", templateRaw);
+            model.addAttribute("templateRaw", templateCompiled);
             model.addAttribute("templateCompiled", templateCompiled);
             model.addAttribute("inputs", template.getInputs());
             
@@ -54,4 +56,13 @@ public class McpTemplateController {
             return "redirect:/mcp-servers";
         }
     }
+
+    @GetMapping("/template-cache")
+    @ResponseBody
+    public Map<String, CacheStats> templateCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("templates", templateService.getTemplateCacheStats());
+        stats.put("output", templateService.getOutputCacheStats());
+        return stats;
+    }
 }
@@ -1,211 +1,279 @@
 package dev.rebelcraft.ai.spawn.mcp;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.rebelcraft.ai.spawn.catalog.CatalogChangedEvent;
+import dev.rebelcraft.ai.spawn.catalog.CatalogDirectory;
+import dev.rebelcraft.ai.spawn.utils.CacheStats;
+import dev.rebelcraft.ai.spawn.utils.LruCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class McpTemplateService {
 
     private static final Logger logger = LoggerFactory.getLogger(McpTemplateService.class);
-    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\{input:([^}]+)\\}");
     
     private final ResourcePatternResolver resourceResolver;
     private final ObjectMapper objectMapper;
+    private final CatalogDirectory catalogDirectory;
     
-    // Index: normalized name -> (filename, template)
-    private final Map<String, TemplateEntry> templateIndex = new HashMap<>();
+    private final int maxLoadedTemplates;
+    private final int outputCacheSize;
+
+    // The template index together with everything parsed and rendered from it. Swapped
+    // whole on reload, so lookups never see a half-built index, and a parse still
+    // running against the old index can only fill the old snapshot's caches.
+    private final AtomicReference<Manifest> manifest;
     
-    public McpTemplateService(ResourcePatternResolver resourceResolver, ObjectMapper objectMapper) {
+    public McpTemplateService(ResourcePatternResolver resourceResolver, ObjectMapper objectMapper,
+                              CatalogDirectory catalogDirectory,
+                              @Value("${spawn.mcp.templates.max-loaded:512}") int maxLoadedTemplates,
+                              @Value("${spawn.mcp.template-cache.max-entries:256}") int outputCacheSize) {
         this.resourceResolver = resourceResolver;
         this.objectMapper = objectMapper;
+        this.catalogDirectory = catalogDirectory;
+        this.maxLoadedTemplates = maxLoadedTemplates;
+        this.outputCacheSize = outputCacheSize;
+        this.manifest = new AtomicReference<>(newManifest(Map.of(), Map.of()));
     }
     
+    /**
+     * Index the template files by name. Templates in the catalog directory replace
+     * bundled ones with the same filename. Templates themselves are only parsed when
+     * first asked for; anything loaded or rendered before is dropped.
+     */
     @PostConstruct
     public void loadTemplates() {
-        try {
-            Resource[] resources = resourceResolver.getResources("classpath:/mcp/templates/*.json");
-            logger.info("Found {} template files", resources.length);
+        Map<String, Resource> locations = new HashMap<>();
+        findTemplates("classpath:/mcp/templates/*.json", locations);
+        catalogDirectory.getTemplatesPattern().ifPresent(pattern -> findTemplates(pattern, locations));
+        logger.info("Indexed {} template files", locations.size());
+
+        // Index by exact name (preserve case) first, so exact names always win
+        Map<String, String> filenames = new HashMap<>();
+        for (String filename : locations.keySet()) {
+            filenames.put(baseName(filename), filename);
+        }
+        for (String filename : locations.keySet()) {
+            String baseName = baseName(filename);
+
+            // Index by lowercase for case-insensitive lookup
+            filenames.putIfAbsent(baseName.toLowerCase(), filename);
             
-            for (Resource resource : resources) {
-                try {
-                    String filename = resource.getFilename();
-                    if (filename == null) {
-                        continue;
-                    }
-                    
-                    McpTemplate template = objectMapper.readValue(resource.getInputStream(), McpTemplate.class);
-                    String baseName = filename.substring(0, filename.length() - 5); // Remove .json
-                    
-                    // Index by exact name (preserve case)
-                    templateIndex.put(baseName, new TemplateEntry(filename, template));
-                    
-                    // Index by lowercase for case-insensitive lookup
-                    String lowerName = baseName.toLowerCase();
-                    if (!lowerName.equals(baseName)) {
-                        templateIndex.putIfAbsent(lowerName, new TemplateEntry(filename, template));
-                    }
-                    
-                    // Index by normalized name
-                    String normalizedName = normalizeName(baseName);
-                    if (!normalizedName.equals(lowerName) && !normalizedName.equals(baseName)) {
-                        templateIndex.putIfAbsent(normalizedName, new TemplateEntry(filename, template));
-                    }
-                    
-                    logger.info("Loaded template: {} (normalized: {})", filename, normalizedName);
-                } catch (IOException e) {
-                    logger.error("Failed to parse template file: {}", resource.getFilename(), e);
+            // Index by normalized name
+            filenames.putIfAbsent(normalizeName(baseName), filename);
+        }
+        manifest.set(newManifest(Map.copyOf(filenames), Map.copyOf(locations)));
+    }
+
+    private Manifest newManifest(Map<String, String> filenames, Map<String, Resource> locations) {
+        return new Manifest(filenames, locations, new LruCache<>(maxLoadedTemplates), new LruCache<>(outputCacheSize));
+    }
+
+    private static String baseName(String filename) {
+        return filename.substring(0, filename.length() - 5); // Remove .json
+    }
+
+    private void findTemplates(String pattern, Map<String, Resource> locations) {
+        try {
+            for (Resource resource : resourceResolver.getResources(pattern)) {
+                String filename = resource.getFilename();
+                if (filename != null) {
+                    locations.put(filename, resource);
                 }
             }
         } catch (IOException e) {
-            logger.error("Failed to load templates", e);
+            logger.error("Failed to load templates from {}", pattern, e);
+        }
+    }
+
+    /**
+     * Re-index templates when the catalog directory's templates change. Ordered first
+     * so that services joining against templates see the new index.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.affectsTemplates()) {
+            loadTemplates();
         }
     }
     
     public Optional<McpTemplate> getTemplateForServer(String serverName) {
-        // Try exact match first
-        TemplateEntry entry = templateIndex.get(serverName);
-        if (entry != null) {
-            return Optional.of(entry.template);
-        }
-        
-        // Try case-insensitive match
-        entry = templateIndex.get(serverName.toLowerCase());
-        if (entry != null) {
-            return Optional.of(entry.template);
-        }
-        
-        // Try normalized match
-        String normalized = normalizeName(serverName);
-        entry = templateIndex.get(normalized);
-        if (entry != null) {
-            return Optional.of(entry.template);
-        }
-        
-        return Optional.empty();
+        Manifest current = manifest.get();
+        return getTemplateFilename(current, serverName).map(filename -> loadTemplate(current, filename));
     }
     
     public Optional<String> getTemplateFilenameForServer(String serverName) {
+        return getTemplateFilename(manifest.get(), serverName);
+    }
+
+    private Optional<String> getTemplateFilename(Manifest current, String serverName) {
+        Map<String, String> filenames = current.filenames;
+
         // Try exact match first
-        TemplateEntry entry = templateIndex.get(serverName);
-        if (entry != null) {
-            return Optional.of(entry.filename);
+        String filename = filenames.get(serverName);
+        if (filename != null) {
+            return Optional.of(filename);
         }
         
         // Try case-insensitive match
-        entry = templateIndex.get(serverName.toLowerCase());
-        if (entry != null) {
-            return Optional.of(entry.filename);
+        filename = filenames.get(serverName.toLowerCase());
+        if (filename != null) {
+            return Optional.of(filename);
         }
         
         // Try normalized match
-        String normalized = normalizeName(serverName);
-        entry = templateIndex.get(normalized);
-        if (entry != null) {
-            return Optional.of(entry.filename);
-        }
-        
-        return Optional.empty();
+        return Optional.ofNullable(filenames.get(normalizeName(serverName)));
     }
     
+    /**
+     * Every template keyed by its file's base name. Loads all of them, so it is meant
+     * for tooling and tests rather than request handling.
+     */
     public Map<String, McpTemplate> getAllTemplates() {
+        Manifest current = manifest.get();
         Map<String, McpTemplate> result = new HashMap<>();
-        Set<String> addedFilenames = new HashSet<>();
-        
-        for (Map.Entry<String, TemplateEntry> entry : templateIndex.entrySet()) {
-            String filename = entry.getValue().filename;
-            if (!addedFilenames.contains(filename)) {
-                result.put(entry.getKey(), entry.getValue().template);
-                addedFilenames.add(filename);
+        for (String filename : current.locations.keySet()) {
+            McpTemplate template = loadTemplate(current, filename);
+            if (template != null) {
+                result.put(baseName(filename), template);
             }
         }
-        
         return Collections.unmodifiableMap(result);
     }
+
+    /**
+     * Template cache statistics since the last {@link #loadTemplates()}.
+     */
+    public CacheStats getTemplateCacheStats() {
+        return manifest.get().loadedTemplates.getStats();
+    }
+
+    private McpTemplate loadTemplate(Manifest current, String filename) {
+        return current.loadedTemplates.get(filename, key -> parseTemplate(current, key));
+    }
+
+    private McpTemplate parseTemplate(Manifest current, String filename) {
+        Resource resource = current.locations.get(filename);
+        if (resource == null) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            McpTemplate template = objectMapper.readValue(in, McpTemplate.class);
+            current.compiledTemplates.put(template, CompiledMcpTemplate.compile(template));
+            logger.debug("Loaded template: {}", filename);
+            return template;
+        } catch (IOException e) {
+            logger.error("Failed to parse template file: {}", filename, e);
+            return null;
+        }
+    }
     
+    /**
+     * The compiled form of a template. Loaded templates are compiled once when they are
+     * read; any other template is compiled on the fly.
+     */
+    public CompiledMcpTemplate getCompiledTemplate(McpTemplate template) {
+        CompiledMcpTemplate compiled = manifest.get().compiledTemplates.get(template);
+        return compiled != null ? compiled : CompiledMcpTemplate.compile(template);
+    }
+
     public String compileTemplate(McpTemplate template) {
+        return compileTemplate(template, Map.of());
+    }
+
+    /**
+     * Render a template as pretty-printed JSON with its slots filled from {@code inputs},
+     * falling back to the defaults for anything not given. Output for loaded templates
+     * is cached until the next {@link #loadTemplates()}. A template that fails to render
+     * gives {@code "{}"}, which is never cached, so the next call tries again.
+     */
+    public String compileTemplate(McpTemplate template, Map<String, String> inputs) {
+        Manifest current = manifest.get();
+        CompiledMcpTemplate compiled = current.compiledTemplates.get(template);
+        if (compiled == null) {
+            compiled = CompiledMcpTemplate.compile(template);
+            return orEmpty(render(compiled, resolveInputs(compiled, inputs)));
+        }
+        CompiledMcpTemplate loaded = compiled;
+        Map<String, String> resolved = resolveInputs(compiled, inputs);
+        // The cache skips the null a failed render returns
+        return orEmpty(current.outputCache.get(new OutputKey(compiled, hashInputs(resolved)),
+            key -> render(loaded, resolved)));
+    }
+
+    /**
+     * Rendered output cache statistics since the last {@link #loadTemplates()}.
+     */
+    public CacheStats getOutputCacheStats() {
+        return manifest.get().outputCache.getStats();
+    }
+
+    private String render(CompiledMcpTemplate compiled, Map<String, String> inputs) {
         try {
-            // Build resolved inputs map
-            Map<String, String> resolvedInputs = new HashMap<>();
-            if (template.getInputs() != null) {
-                for (McpTemplate.McpTemplateInput input : template.getInputs()) {
-                    String value;
-                    if (input.getDefaultValue() != null && !input.getDefaultValue().isEmpty()) {
-                        value = input.getDefaultValue();
-                    } else if (Boolean.TRUE.equals(input.getPassword())) {
-                        value = "*****";
-                    } else {
-                        value = "<" + input.getId() + ">";
-                    }
-                    resolvedInputs.put(input.getId(), value);
-                }
+            StringWriter json = new StringWriter();
+            try (JsonGenerator generator = objectMapper.writerWithDefaultPrettyPrinter().createGenerator(json)) {
+                generator.writeStartObject();
+                generator.writeFieldName("servers");
+                compiled.writeServers(generator, inputs);
+                generator.writeEndObject();
             }
-            
-            // Deep copy and replace placeholders
-            Object compiledServers = replacePlaceholders(template.getServers(), resolvedInputs);
-            
-            // Create a map with the compiled servers
-            Map<String, Object> result = new HashMap<>();
-            result.put("servers", compiledServers);
-            
-            // Pretty print
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+            return json.toString();
         } catch (Exception e) {
             logger.error("Failed to compile template", e);
-            return "{}";
-        }
-    }
-    
-    private Object replacePlaceholders(Object node, Map<String, String> resolvedInputs) {
-        if (node == null) {
             return null;
         }
-        
-        if (node instanceof String) {
-            String str = (String) node;
-            Matcher matcher = PLACEHOLDER_PATTERN.matcher(str);
-            StringBuffer result = new StringBuffer();
-            
-            while (matcher.find()) {
-                String inputId = matcher.group(1);
-                String replacement = resolvedInputs.getOrDefault(inputId, "<" + inputId + ">");
-                matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
-            }
-            matcher.appendTail(result);
-            return result.toString();
-        }
-        
-        if (node instanceof Map) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> map = (Map<String, Object>) node;
-            Map<String, Object> result = new LinkedHashMap<>();
-            for (Map.Entry<String, Object> entry : map.entrySet()) {
-                result.put(entry.getKey(), replacePlaceholders(entry.getValue(), resolvedInputs));
-            }
-            return result;
+    }
+
+    private static String orEmpty(String rendered) {
+        return rendered != null ? rendered : "{}";
+    }
+
+    private static Map<String, String> resolveInputs(CompiledMcpTemplate compiled, Map<String, String> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            return compiled.getDefaultInputs();
         }
-        
-        if (node instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<Object> list = (List<Object>) node;
-            List<Object> result = new ArrayList<>();
-            for (Object item : list) {
-                result.add(replacePlaceholders(item, resolvedInputs));
+        Map<String, String> resolved = new HashMap<>(compiled.getDefaultInputs());
+        resolved.putAll(inputs);
+        return resolved;
+    }
+
+    /**
+     * SHA-256 over the inputs in id order, so the cache key never holds input values
+     * such as tokens in the clear.
+     */
+    private static String hashInputs(Map<String, String> inputs) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, String> entry : new TreeMap<>(inputs).entrySet()) {
+                digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(String.valueOf(entry.getValue()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
             }
-            return result;
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        
-        // For other types (numbers, booleans, etc.), return as-is
-        return node;
     }
     
     private String normalizeName(String name) {
@@ -220,13 +288,56 @@ public class McpTemplateService {
                 .replaceAll("[^a-z0-9\\-_]", "");
     }
     
-    private static class TemplateEntry {
-        final String filename;
-        final McpTemplate template;
-        
-        TemplateEntry(String filename, McpTemplate template) {
-            this.filename = filename;
+    /**
+     * Compiled templates are compared by identity, so a reloaded template never matches
+     * output cached for the one it replaced.
+     */
+    private static class OutputKey {
+        final CompiledMcpTemplate template;
+        final String inputsHash;
+
+        OutputKey(CompiledMcpTemplate template, String inputsHash) {
             this.template = template;
+            this.inputsHash = inputsHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof OutputKey)) return false;
+            OutputKey other = (OutputKey) o;
+            return template == other.template && inputsHash.equals(other.inputsHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(template) + inputsHash.hashCode();
+        }
+    }
+
+    private static class Manifest {
+        // Lookup name (exact, lowercase and normalized) -> template filename, and
+        // filename -> where to read it from
+        final Map<String, String> filenames;
+        final Map<String, Resource> locations;
+
+        // Parsed templates by filename, loaded on first access
+        final LruCache<String, McpTemplate> loadedTemplates;
+
+        // Compiled form of each loaded template. McpTemplate keeps identity equality, and
+        // weak keys let a compiled form go once its template is evicted and unreferenced.
+        final Map<McpTemplate, CompiledMcpTemplate> compiledTemplates =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+        // Rendered JSON of loaded templates, by compiled template and resolved inputs
+        final LruCache<OutputKey, String> outputCache;
+
+        Manifest(Map<String, String> filenames, Map<String, Resource> locations,
+                 LruCache<String, McpTemplate> loadedTemplates, LruCache<OutputKey, String> outputCache) {
+            this.filenames = filenames;
+            this.locations = locations;
+            this.loadedTemplates = loadedTemplates;
+            this.outputCache = outputCache;
         }
     }
 }
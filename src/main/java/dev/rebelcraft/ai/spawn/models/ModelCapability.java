@@ -0,0 +1,87 @@
+package dev.rebelcraft.ai.spawn.models;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Capabilities parsed from the models.csv columns, one bit each. The yes/no columns
+ * map directly; the free-text Multimodality column contributes one flag per input
+ * kind it mentions (text is assumed for every model).
+ */
+public enum ModelCapability {
+    TOOLS("tools", "Tools/Functions"),
+    STREAMING("streaming", "Streaming"),
+    RETRY("retry", "Retry"),
+    OBSERVABILITY("observability", "Observability"),
+    BUILT_IN_JSON("json", "Built-in JSON"),
+    LOCAL("local", "Local"),
+    OPENAI_COMPATIBLE("openai", "OpenAI API Compatible"),
+    IMAGE("image", "Image"),
+    AUDIO("audio", "Audio"),
+    VIDEO("video", "Video"),
+    PDF("pdf", "PDF");
+
+    private final String param;
+    private final String label;
+
+    ModelCapability(String param, String label) {
+        this.param = param;
+        this.label = label;
+    }
+
+    /**
+     * Name of the request parameter that filters on this capability.
+     */
+    public String getParam() {
+        return param;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean isSet(int capabilities) {
+        return (capabilities & bit()) != 0;
+    }
+
+    public static Optional<ModelCapability> fromParam(String param) {
+        for (ModelCapability capability : values()) {
+            if (capability.param.equalsIgnoreCase(param)) {
+                return Optional.of(capability);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Pack the capability columns of a catalog row into a bitset.
+     */
+    public static int of(Model model) {
+        int capabilities = 0;
+        capabilities |= flag(TOOLS, model.getToolsFunctions());
+        capabilities |= flag(STREAMING, model.getStreaming());
+        capabilities |= flag(RETRY, model.getRetry());
+        capabilities |= flag(OBSERVABILITY, model.getObservability());
+        capabilities |= flag(BUILT_IN_JSON, model.getBuiltInJson());
+        capabilities |= flag(LOCAL, model.getLocal());
+        capabilities |= flag(OPENAI_COMPATIBLE, model.getOpenAiApiCompatible());
+
+        String modalities = model.getMultimodality() != null
+            ? model.getMultimodality().toLowerCase(Locale.ROOT)
+            : "";
+        for (ModelCapability modality : new ModelCapability[]{IMAGE, AUDIO, VIDEO, PDF}) {
+            if (modalities.contains(modality.param)) {
+                capabilities |= modality.bit();
+            }
+        }
+        return capabilities;
+    }
+
+    private static int flag(ModelCapability capability, String value) {
+        return value != null && value.trim().equalsIgnoreCase("yes") ? capability.bit() : 0;
+    }
+}
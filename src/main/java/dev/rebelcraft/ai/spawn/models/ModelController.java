@@ -1,10 +1,11 @@
 package dev.rebelcraft.ai.spawn.models;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/models")
@@ -17,9 +18,20 @@ public class ModelController {
     }
 
     @GetMapping
-    public String listModels(Model model) {
-        List<ModelResponse> models = modelService.getAllModels();
-        model.addAttribute("models", models);
+    public String listModels(@RequestParam Map<String, String> params, Model model, HttpServletResponse response) {
+        ModelFilter filter;
+        try {
+            filter = ModelFilter.fromParams(params);
+        } catch (IllegalArgumentException e) {
+            // Show the whole catalog with the error, rather than a bare error response
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            model.addAttribute("error", e.getMessage());
+            filter = ModelFilter.NONE;
+        }
+        ModelSearchResult result = modelService.searchModels(filter);
+        model.addAttribute("models", result.getModels());
+        model.addAttribute("filter", result.getFilter());
+        model.addAttribute("facetCounts", result.getFacetCounts());
         return "modelsListPage";
     }
 
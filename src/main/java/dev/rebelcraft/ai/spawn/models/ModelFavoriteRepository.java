@@ -1,6 +1,9 @@
 package dev.rebelcraft.ai.spawn.models;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -15,5 +18,9 @@ public interface ModelFavoriteRepository extends JpaRepository<ModelFavorite, Lo
     
     boolean existsByProvider(String provider);
     
-    void deleteByProvider(String provider);
+    // A single delete statement, so a concurrent toggle that removed the row
+    // first leaves nothing to fail on
+    @Modifying
+    @Query("delete from ModelFavorite f where f.provider = :provider")
+    void deleteByProvider(@Param("provider") String provider);
 }
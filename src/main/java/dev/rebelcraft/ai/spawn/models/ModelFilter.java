@@ -0,0 +1,108 @@
+package dev.rebelcraft.ai.spawn.models;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * A conjunction of capability conditions, e.g. {@code tools=yes&local=no}, kept as two
+ * bitmasks so a catalog row is tested with two ANDs.
+ */
+public class ModelFilter {
+
+    public static final ModelFilter NONE = new ModelFilter(0, 0);
+
+    private final int required;
+    private final int excluded;
+
+    private ModelFilter(int required, int excluded) {
+        this.required = required;
+        this.excluded = excluded;
+    }
+
+    /**
+     * Build a filter from request parameters. Parameters that do not name a
+     * capability are ignored; capability values must be {@code yes} or {@code no}.
+     */
+    public static ModelFilter fromParams(Map<String, String> params) {
+        ModelFilter filter = NONE;
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            Optional<ModelCapability> capability = ModelCapability.fromParam(param.getKey());
+            if (capability.isPresent()) {
+                filter = filter.with(capability.get(), parseValue(param.getKey(), param.getValue()));
+            }
+        }
+        return filter;
+    }
+
+    private static Boolean parseValue(String param, String value) {
+        String normalized = value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+        return switch (normalized) {
+            case "yes" -> Boolean.TRUE;
+            case "no" -> Boolean.FALSE;
+            case "", "any" -> null;
+            default -> throw new IllegalArgumentException(
+                "Invalid value for " + param + ": " + value + " (expected yes or no)");
+        };
+    }
+
+    public boolean matches(int capabilities) {
+        return (capabilities & required) == required && (capabilities & excluded) == 0;
+    }
+
+    public boolean isEmpty() {
+        return required == 0 && excluded == 0;
+    }
+
+    /**
+     * The condition on one capability: {@code TRUE} if required, {@code FALSE} if
+     * excluded, {@code null} if unconstrained.
+     */
+    public Boolean get(ModelCapability capability) {
+        if (capability.isSet(required)) {
+            return Boolean.TRUE;
+        }
+        if (capability.isSet(excluded)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    /**
+     * A copy of this filter with the condition on one capability replaced.
+     */
+    public ModelFilter with(ModelCapability capability, Boolean value) {
+        int bit = capability.bit();
+        int newRequired = required & ~bit;
+        int newExcluded = excluded & ~bit;
+        if (Boolean.TRUE.equals(value)) {
+            newRequired |= bit;
+        } else if (Boolean.FALSE.equals(value)) {
+            newExcluded |= bit;
+        }
+        return new ModelFilter(newRequired, newExcluded);
+    }
+
+    public Map<ModelCapability, Boolean> getConditions() {
+        Map<ModelCapability, Boolean> conditions = new EnumMap<>(ModelCapability.class);
+        for (ModelCapability capability : ModelCapability.values()) {
+            Boolean value = get(capability);
+            if (value != null) {
+                conditions.put(capability, value);
+            }
+        }
+        return conditions;
+    }
+
+    /**
+     * The filter as a query string without the leading {@code ?}, empty when unconstrained.
+     */
+    public String toQueryString() {
+        StringJoiner query = new StringJoiner("&");
+        getConditions().forEach((capability, value) ->
+            query.add(capability.getParam() + "=" + (value ? "yes" : "no")));
+        return query.toString();
+    }
+}
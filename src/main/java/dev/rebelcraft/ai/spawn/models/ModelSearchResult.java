@@ -0,0 +1,33 @@
+package dev.rebelcraft.ai.spawn.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Models matching a {@link ModelFilter}, with the number of matches that have each
+ * capability so the UI can show how far each further condition would narrow the list.
+ */
+public class ModelSearchResult {
+
+    private final ModelFilter filter;
+    private final List<ModelResponse> models;
+    private final Map<ModelCapability, Integer> facetCounts;
+
+    public ModelSearchResult(ModelFilter filter, List<ModelResponse> models, Map<ModelCapability, Integer> facetCounts) {
+        this.filter = filter;
+        this.models = models;
+        this.facetCounts = facetCounts;
+    }
+
+    public ModelFilter getFilter() {
+        return filter;
+    }
+
+    public List<ModelResponse> getModels() {
+        return models;
+    }
+
+    public Map<ModelCapability, Integer> getFacetCounts() {
+        return facetCounts;
+    }
+}
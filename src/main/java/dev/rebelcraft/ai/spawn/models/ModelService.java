@@ -1,42 +1,99 @@
 package dev.rebelcraft.ai.spawn.models;
 
-import org.springframework.core.io.ClassPathResource;
+import dev.rebelcraft.ai.spawn.catalog.CatalogChangedEvent;
+import dev.rebelcraft.ai.spawn.catalog.CatalogDirectory;
+import dev.rebelcraft.ai.spawn.utils.CsvReader;
+import dev.rebelcraft.ai.spawn.utils.FavoritesCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
 public class ModelService {
 
-    private final List<Model> models;
+    private static final Logger logger = LoggerFactory.getLogger(ModelService.class);
+
+    // Swapped whole on reload, so every call works against one consistent catalog
+    private final AtomicReference<ModelCatalog> catalog = new AtomicReference<>();
+    private final Resource defaultCatalog;
+    private final CatalogDirectory catalogDirectory;
     private final ModelFavoriteRepository favoriteRepository;
+    private final FavoritesCache favorites;
 
-    public ModelService(ModelFavoriteRepository favoriteRepository) {
+    public ModelService(ModelFavoriteRepository favoriteRepository,
+                        @Value("${spawn.catalog.models:classpath:models/models.csv}") Resource defaultCatalog,
+                        CatalogDirectory catalogDirectory) {
         this.favoriteRepository = favoriteRepository;
-        this.models = loadModelsFromCsv();
+        this.favorites = new FavoritesCache(
+            () -> favoriteRepository.findAll().stream().map(ModelFavorite::getProvider).toList(),
+            favoriteRepository::existsByProvider);
+        this.defaultCatalog = defaultCatalog;
+        this.catalogDirectory = catalogDirectory;
+        this.catalog.set(new ModelCatalog(loadModelsFromCsv(currentCatalog())));
+    }
+
+    /**
+     * Re-read models.csv when it changes in the catalog directory. A file that fails
+     * to load leaves the current catalog in place.
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.affectsModels()) {
+            return;
+        }
+        try {
+            ModelCatalog reloaded = new ModelCatalog(loadModelsFromCsv(currentCatalog()));
+            catalog.set(reloaded);
+            logger.info("Reloaded {} models", reloaded.models.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to reload models, keeping the current catalog", e);
+        }
+    }
+
+    private Resource currentCatalog() {
+        return catalogDirectory.resolve(CatalogDirectory.MODELS_FILE, defaultCatalog);
+    }
+
+    private static Map<String, Model> indexByProvider(List<Model> models) {
+        Map<String, Model> index = new HashMap<>();
+        for (Model model : models) {
+            index.putIfAbsent(model.getProvider().toLowerCase(), model);
+        }
+        return Map.copyOf(index);
     }
 
-    private List<Model> loadModelsFromCsv() {
+    private List<Model> loadModelsFromCsv(Resource resource) {
         List<Model> loadedModels = new ArrayList<>();
         try {
-            ClassPathResource resource = new ClassPathResource("models/models.csv");
-            try (BufferedReader reader = new BufferedReader(
+            try (CsvReader csv = new CsvReader(
                     new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
                 
                 // Skip header line
-                String headerLine = reader.readLine();
+                csv.readRecord();
                 
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    String[] fields = parseCsvLine(line);
+                String[] fields;
+                while ((fields = csv.readRecord()) != null) {
                     if (fields.length >= 9) {
                         Model model = new Model(
                             fields[0].trim(), // Provider
@@ -59,68 +116,114 @@ public class ModelService {
         return loadedModels;
     }
 
+    public List<ModelResponse> getAllModels() {
+        return toResponses(catalog.get().models);
+    }
+
+    private List<ModelResponse> toResponses(List<Model> models) {
+        return models.stream()
+            .map(model -> toResponse(model, favorites.contains(model.getProvider())))
+            .collect(Collectors.toList());
+    }
+
     /**
-     * Parse a CSV line handling quoted fields properly
+     * Models matching the filter, in catalog order, with facet counts over the matches.
      */
-    private String[] parseCsvLine(String line) {
-        List<String> fields = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentField = new StringBuilder();
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                fields.add(currentField.toString());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
+    public ModelSearchResult searchModels(ModelFilter filter) {
+        ModelCatalog current = catalog.get();
+        if (filter.isEmpty()) {
+            return new ModelSearchResult(filter, toResponses(current.models), current.facetCounts);
+        }
+        List<Model> models = current.models;
+        int[] capabilities = current.capabilities;
+        List<ModelResponse> matches = new ArrayList<>();
+        int[] matched = new int[capabilities.length];
+        int count = 0;
+        for (int i = 0; i < capabilities.length; i++) {
+            if (filter.matches(capabilities[i])) {
+                Model model = models.get(i);
+                matches.add(toResponse(model, favorites.contains(model.getProvider())));
+                matched[count++] = capabilities[i];
             }
         }
-        fields.add(currentField.toString());
-        
-        return fields.toArray(new String[0]);
+        return new ModelSearchResult(filter, matches, facetCounts(Arrays.copyOf(matched, count)));
     }
 
-    public List<ModelResponse> getAllModels() {
-        // Get all favorites
-        Set<String> favoriteProviders = favoriteRepository.findAll().stream()
-            .map(ModelFavorite::getProvider)
-            .collect(Collectors.toSet());
-        
-        return models.stream()
-            .map(model -> toResponse(model, favoriteProviders.contains(model.getProvider())))
-            .collect(Collectors.toList());
+    private static Map<ModelCapability, Integer> facetCounts(int[] capabilities) {
+        Map<ModelCapability, Integer> counts = new EnumMap<>(ModelCapability.class);
+        for (ModelCapability capability : ModelCapability.values()) {
+            int count = 0;
+            for (int row : capabilities) {
+                count += (row >>> capability.ordinal()) & 1;
+            }
+            counts.put(capability, count);
+        }
+        return Collections.unmodifiableMap(counts);
     }
 
     public Optional<ModelResponse> getModelByProvider(String provider) {
-        boolean isFavorite = favoriteRepository.existsByProvider(provider);
-        return models.stream()
-            .filter(model -> model.getProvider().equalsIgnoreCase(provider))
-            .map(model -> toResponse(model, isFavorite))
-            .findFirst();
+        return findModel(provider)
+            .map(model -> toResponse(model, favorites.contains(model.getProvider())));
     }
 
-    public void addFavorite(String provider) {
-        // Check if model exists
-        boolean modelExists = models.stream()
-            .anyMatch(model -> model.getProvider().equalsIgnoreCase(provider));
-        
-        if (!modelExists) {
-            throw new IllegalArgumentException("Model not found: " + provider);
+    /**
+     * Resolve many providers at once, case-insensitively. The result is keyed by the
+     * provider names as given; unknown providers are left out.
+     */
+    public Map<String, ModelResponse> getModelsByProviders(Collection<String> providers) {
+        if (providers == null || providers.isEmpty()) {
+            return Map.of();
         }
-        
-        // Add favorite if not already exists
-        if (!favoriteRepository.existsByProvider(provider)) {
-            favoriteRepository.save(new ModelFavorite(provider));
+        Map<String, ModelResponse> result = new LinkedHashMap<>();
+        for (String provider : providers) {
+            findModel(provider).ifPresent(model ->
+                result.put(provider, toResponse(model, favorites.contains(model.getProvider()))));
         }
+        return result;
+    }
+
+    /**
+     * Check that every provider exists in the catalog, failing on the first one that
+     * does not. Needs no database access.
+     */
+    public void validateProviders(Set<String> providers) {
+        if (providers == null) {
+            return;
+        }
+        for (String provider : providers) {
+            if (findModel(provider).isEmpty()) {
+                throw new IllegalArgumentException("Model provider not found: " + provider);
+            }
+        }
+    }
+
+    public void addFavorite(String provider) {
+        Model model = findModel(provider)
+            .orElseThrow(() -> new IllegalArgumentException("Model not found: " + provider));
+
+        // Favorites are stored under the catalog spelling so lookups in any case agree
+        if (!favoriteRepository.existsByProvider(model.getProvider())) {
+            try {
+                favoriteRepository.save(new ModelFavorite(model.getProvider()));
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent toggle inserted it first; it is a favorite either way
+            }
+        }
+        favorites.refresh(model.getProvider());
     }
 
     @Transactional
     public void removeFavorite(String provider) {
-        favoriteRepository.deleteByProvider(provider);
+        String canonicalProvider = findModel(provider).map(Model::getProvider).orElse(provider);
+        favoriteRepository.deleteByProvider(canonicalProvider);
+        favorites.refresh(canonicalProvider);
+    }
+
+    private Optional<Model> findModel(String provider) {
+        if (provider == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(catalog.get().modelsByProvider.get(provider.toLowerCase()));
     }
 
     private ModelResponse toResponse(Model model, boolean isFavorite) {
@@ -137,4 +240,20 @@ public class ModelService {
             isFavorite
         );
     }
+
+    private static class ModelCatalog {
+        final List<Model> models;
+        // Lowercased provider -> model, so lookups are case-insensitive without scanning
+        final Map<String, Model> modelsByProvider;
+        // Capability bitset of models.get(i), see ModelCapability
+        final int[] capabilities;
+        final Map<ModelCapability, Integer> facetCounts;
+
+        ModelCatalog(List<Model> models) {
+            this.models = List.copyOf(models);
+            this.modelsByProvider = indexByProvider(this.models);
+            this.capabilities = this.models.stream().mapToInt(ModelCapability::of).toArray();
+            this.facetCounts = facetCounts(capabilities);
+        }
+    }
 }
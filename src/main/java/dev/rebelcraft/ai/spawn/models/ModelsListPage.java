@@ -20,6 +20,10 @@ public class ModelsListPage extends PageView {
   protected DomContent renderPage(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) {
     @SuppressWarnings("unchecked")
     List<ModelResponse> models = (List<ModelResponse>) model.get("models");
+    ModelFilter filter = (ModelFilter) model.get("filter");
+    @SuppressWarnings("unchecked")
+    Map<ModelCapability, Integer> facetCounts = (Map<ModelCapability, Integer>) model.get("facetCounts");
+    String error = (String) model.get("error");
 
     // Split into favorites and non-favorites, both sorted alphabetically
     List<ModelResponse> favorites = models.stream()
@@ -43,6 +47,8 @@ public class ModelsListPage extends PageView {
             h1("Available AI Models"),
             p(attrs(".text-muted"), "These models are loaded from the models.csv configuration file.")
           ),
+          error != null ? div(attrs(".alert.alert-danger"), error) : text(""),
+          filterBar(filter, facetCounts),
           each(renderModelSections(favorites, others))
         )
       )
@@ -50,6 +56,31 @@ public class ModelsListPage extends PageView {
 
   }
 
+  /**
+   * One toggle per capability cycling any -> yes -> no, labelled with how many of
+   * the listed models have it.
+   */
+  private DomContent filterBar(ModelFilter filter, Map<ModelCapability, Integer> facetCounts) {
+    if (filter == null || facetCounts == null) {
+      return text("");
+    }
+    return div(
+      attrs(".mb-3"),
+      each(List.of(ModelCapability.values()), capability -> {
+        Boolean current = filter.get(capability);
+        Boolean next = current == null ? Boolean.TRUE : current ? Boolean.FALSE : null;
+        String query = filter.with(capability, next).toQueryString();
+        String style = current == null ? ".btn.btn-sm.btn-outline-secondary.me-1.mb-1"
+          : current ? ".btn.btn-sm.btn-success.me-1.mb-1"
+          : ".btn.btn-sm.btn-danger.me-1.mb-1";
+        String label = (Boolean.FALSE.equals(current) ? "No " : "") + capability.getLabel()
+          + " (" + facetCounts.getOrDefault(capability, 0) + ")";
+        return a(attrs(style), label).withHref(query.isEmpty() ? "/models" : "/models?" + query);
+      }),
+      filter.isEmpty() ? text("") : a(attrs(".btn.btn-sm.btn-link.mb-1"), "Clear filters").withHref("/models")
+    );
+  }
+
   private DomContent[] renderModelSections(List<ModelResponse> favorites, List<ModelResponse> others) {
     java.util.List<DomContent> sections = new java.util.ArrayList<>();
     
@@ -0,0 +1,84 @@
+package dev.rebelcraft.ai.spawn.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of the favorite names of one catalog, so catalog reads need no
+ * database access. Loaded on first use and kept current by the service that owns
+ * the favorites table, which calls {@link #refresh(String)} after every write.
+ * <p>
+ * A refresh re-reads the single name from the database once the writing transaction
+ * has committed. Refreshes are serialized, so concurrent add/remove toggles of the
+ * same name always leave the cache agreeing with the last committed state.
+ */
+public class FavoritesCache {
+
+    private final Supplier<? extends Collection<String>> loadAll;
+    private final Predicate<String> isFavorite;
+    private final Set<String> favorites = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    public FavoritesCache(Supplier<? extends Collection<String>> loadAll, Predicate<String> isFavorite) {
+        this.loadAll = loadAll;
+        this.isFavorite = isFavorite;
+    }
+
+    public boolean contains(String name) {
+        ensureLoaded();
+        return favorites.contains(name);
+    }
+
+    public Set<String> getAll() {
+        ensureLoaded();
+        return Collections.unmodifiableSet(favorites);
+    }
+
+    /**
+     * Bring the cached state of {@code name} in line with the database, straight away
+     * or, inside a transaction, once it commits. Nothing changes on rollback.
+     */
+    public void refresh(String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload(name);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload(name);
+            }
+        });
+    }
+
+    private synchronized void reload(String name) {
+        if (!loaded) {
+            ensureLoaded();
+            return;
+        }
+        if (isFavorite.test(name)) {
+            favorites.add(name);
+        } else {
+            favorites.remove(name);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                favorites.addAll(loadAll.get());
+                loaded = true;
+            }
+        }
+    }
+}
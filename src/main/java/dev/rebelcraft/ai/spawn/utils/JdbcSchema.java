@@ -0,0 +1,49 @@
+package dev.rebelcraft.ai.spawn.utils;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Schema lookups for the startup migrations that {@code ddl-auto=update} cannot do
+ * on its own, such as moving data out of a column before it is dropped.
+ */
+public final class JdbcSchema {
+
+    private JdbcSchema() {
+    }
+
+    public static boolean hasTable(JdbcTemplate jdbcTemplate, String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet tables = metaData.getTables(null, null, identifier(metaData, table), null)) {
+                return tables.next();
+            }
+        }));
+    }
+
+    public static boolean hasColumn(JdbcTemplate jdbcTemplate, String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(null, null,
+                    identifier(metaData, table), identifier(metaData, column))) {
+                return columns.next();
+            }
+        }));
+    }
+
+    // Unquoted identifiers are stored folded to one case, and metadata lookups are exact
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        return name;
+    }
+}
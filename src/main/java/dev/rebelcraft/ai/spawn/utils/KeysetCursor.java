@@ -0,0 +1,48 @@
+package dev.rebelcraft.ai.spawn.utils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in a listing ordered by creation time and id, newest first.
+ * Encoded as {@code <createdAt>_<id>} so it can be passed as a request parameter.
+ */
+public class KeysetCursor {
+
+    private static final char SEPARATOR = '_';
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static KeysetCursor parse(String value) {
+        int separator = value != null ? value.lastIndexOf(SEPARATOR) : -1;
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid page cursor: " + value);
+        }
+        try {
+            return new KeysetCursor(
+                LocalDateTime.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        return createdAt.toString() + SEPARATOR + id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
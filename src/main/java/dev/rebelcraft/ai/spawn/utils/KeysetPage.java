@@ -0,0 +1,58 @@
+package dev.rebelcraft.ai.spawn.utils;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing together with the cursors needed to
+ * fetch the neighbouring pages. A cursor is {@code null} when there is no such page.
+ */
+public class KeysetPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> items;
+    private final String previousCursor;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> items, String previousCursor, String nextCursor) {
+        this.items = items;
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build a page whose cursors point at its first and last items.
+     */
+    public static <T> KeysetPage<T> of(List<T> items, Function<T, KeysetCursor> cursorOf,
+                                       boolean hasPrevious, boolean hasNext) {
+        if (items.isEmpty()) {
+            return new KeysetPage<>(items, null, null);
+        }
+        return new KeysetPage<>(
+            items,
+            hasPrevious ? cursorOf.apply(items.get(0)).encode() : null,
+            hasNext ? cursorOf.apply(items.get(items.size() - 1)).encode() : null
+        );
+    }
+
+    /**
+     * Clamp a requested page size to the supported range.
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
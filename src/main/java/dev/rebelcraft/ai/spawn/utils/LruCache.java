@@ -0,0 +1,86 @@
+package dev.rebelcraft.ai.spawn.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A small thread-safe least-recently-used cache bounded by total weight. With the
+ * default weigher every entry weighs one, so the bound is a maximum entry count.
+ * Keeps hit, miss and eviction counts for {@link #getStats()}.
+ */
+public class LruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public LruCache(long maxEntries) {
+        this(maxEntries, value -> 1);
+    }
+
+    public LruCache(long maxWeight, ToLongFunction<V> weigher) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * The cached value for {@code key}, loading and caching it on a miss. The loader
+     * runs outside the lock, so two threads missing on the same key may both load it;
+     * the last one wins. A {@code null} result is returned but not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        synchronized (this) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits++;
+                return value;
+            }
+            misses++;
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            // Would evict everything else and still not fit
+            return;
+        }
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+        weight += valueWeight;
+        Iterator<V> eldest = entries.values().iterator();
+        while (weight > maxWeight) {
+            V evicted = eldest.next();
+            eldest.remove();
+            weight -= weigher.applyAsLong(evicted);
+            evictions++;
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        V removed = entries.remove(key);
+        if (removed != null) {
+            weight -= weigher.applyAsLong(removed);
+        }
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, entries.size(), weight, maxWeight);
+    }
+}
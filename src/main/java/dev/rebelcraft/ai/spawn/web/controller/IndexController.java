@@ -10,6 +10,8 @@ import java.util.List;
 
 @Controller
 public class IndexController {
+    private static final int RECENT_APPLICATIONS = 5;
+
     private final ApplicationService applicationService;
 
     public IndexController(ApplicationService applicationService) {
@@ -18,10 +20,7 @@ public class IndexController {
 
     @GetMapping("/")
     public String index(Model model) {
-        List<ApplicationResponse> recent = applicationService.getAllApplications();
-        // show most recent 5
-        recent.sort((a,b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
-        if (recent.size() > 5) recent = recent.subList(0,5);
+        List<ApplicationResponse> recent = applicationService.getRecentApplications(RECENT_APPLICATIONS);
         model.addAttribute("recentApplications", recent);
         return "indexPage";
     }
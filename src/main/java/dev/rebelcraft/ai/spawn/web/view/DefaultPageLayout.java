@@ -3,6 +3,9 @@ package dev.rebelcraft.ai.spawn.web.view;
 import j2html.tags.DomContent;
 import j2html.tags.specialized.NavTag;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
 import static j2html.TagCreator.*;
 
 public class DefaultPageLayout {
@@ -12,6 +15,7 @@ public class DefaultPageLayout {
   public static final String ACTIVATE_MCP_NAV_LINK = "mcp";
   public static final String ACTIVATE_APPS_NAV_LINK = "apps";
   public static final String ACTIVATE_AGENTS_NAV_LINK = "agents";
+  public static final String ACTIVATE_DEPLOYMENTS_NAV_LINK = "deployments";
 
   public static DomContent createPage(String title, String activeNavLink, DomContent bodyContent) {
     return html(
@@ -34,6 +38,35 @@ public class DefaultPageLayout {
     );
   }
 
+  /**
+   * Previous / Next controls for a keyset-paginated list. Renders nothing when
+   * the listing fits on a single page.
+   */
+  public static DomContent pagination(String path, int size, String previousCursor, String nextCursor) {
+    if (previousCursor == null && nextCursor == null) {
+      return text("");
+    }
+    return nav(
+      ul(
+        attrs(".pagination.justify-content-center"),
+        li(
+          attrs(previousCursor != null ? ".page-item" : ".page-item.disabled"),
+          a(attrs(".page-link"), "Previous")
+            .withHref(previousCursor != null ? path + "?before=" + encode(previousCursor) + "&size=" + size : "#")
+        ),
+        li(
+          attrs(nextCursor != null ? ".page-item" : ".page-item.disabled"),
+          a(attrs(".page-link"), "Next")
+            .withHref(nextCursor != null ? path + "?after=" + encode(nextCursor) + "&size=" + size : "#")
+        )
+      )
+    ).attr("aria-label", "Pagination");
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
   private static NavTag navbar(String activeNavLink) {
     return nav(
       attrs(".navbar.navbar-expand-lg.navbar-dark.bg-dark"),
@@ -45,7 +78,8 @@ public class DefaultPageLayout {
           a(attrs(ACTIVATE_MODELS_NAV_LINK.equals(activeNavLink) ? ".nav-link.active" : ".nav-link"), "Models").withHref("/models"),
           a(attrs(ACTIVATE_MCP_NAV_LINK.equals(activeNavLink) ? ".nav-link.active" : ".nav-link"), "MCP Servers").withHref("/mcp-servers"),
           a(attrs(ACTIVATE_AGENTS_NAV_LINK.equals(activeNavLink) ? ".nav-link.active" : ".nav-link"), "Agents").withHref("/agents"),
-          a(attrs(ACTIVATE_APPS_NAV_LINK.equals(activeNavLink) ? ".nav-link.active" : ".nav-link"), "Applications").withHref("/applications")
+          a(attrs(ACTIVATE_APPS_NAV_LINK.equals(activeNavLink) ? ".nav-link.active" : ".nav-link"), "Applications").withHref("/applications"),
+          a(attrs(ACTIVATE_DEPLOYMENTS_NAV_LINK.equals(activeNavLink) ? ".nav-link.active" : ".nav-link"), "Deployments").withHref("/deployments")
         )
       )
     );
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,6 +29,69 @@ class AgentControllerIntegrationTest {
                 .andExpect(redirectedUrl("/agents"));
     }
 
+    @Test
+    void shouldRejectDuplicateAgentName() throws Exception {
+        mockMvc.perform(post("/agents")
+                .param("name", "Duplicate Agent")
+                .param("systemPrompt", "First"))
+                .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(post("/agents")
+                .param("name", "duplicate agent")
+                .param("systemPrompt", "Second"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("already exists")));
+
+        org.assertj.core.api.Assertions.assertThat(agentRepository.findByNormalizedName(Agent.normalizeName("DUPLICATE AGENT")))
+                .get()
+                .extracting(Agent::getName)
+                .isEqualTo("Duplicate Agent");
+    }
+
+    @Test
+    void shouldApplyMcpServerChangesInOneRequest() throws Exception {
+        Agent agent = new Agent("AgentWithBulkChanges");
+        agent.addMcpServerName("Stripe");
+        Long id = agentRepository.save(agent).getId();
+
+        mockMvc.perform(post("/agents/" + id + "/mcp-servers")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content("{\"add\": [\"GitHub\", \"NonExistentMCP\"], \"remove\": [\"Stripe\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.mcpServerNames", org.hamcrest.Matchers.containsInAnyOrder("GitHub", "NonExistentMCP")))
+                .andExpect(jsonPath("$.unmatchedMcpNames", org.hamcrest.Matchers.contains("NonExistentMCP")));
+
+        mockMvc.perform(post("/agents/mcp-servers")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content("[{\"agentId\": " + id + ", \"remove\": [\"NonExistentMCP\"]}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].mcpServerNames", org.hamcrest.Matchers.contains("GitHub")));
+    }
+
+    @Test
+    void shouldRejectInvalidMcpServerChanges() throws Exception {
+        Agent agent = new Agent("AgentWithRejectedChanges");
+        agent.addMcpServerName("Stripe");
+        Long id = agentRepository.save(agent).getId();
+
+        mockMvc.perform(post("/agents/mcp-servers")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content("[{\"agentId\": " + id + ", \"add\": [\"GitHub\"]}, {\"add\": [\"GitHub\"]}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Agent id is required"));
+        mockMvc.perform(post("/agents/mcp-servers")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .content("[{\"agentId\": " + id + ", \"add\": [\"GitHub\"]}, {\"agentId\": -1, \"add\": [\"GitHub\"]}]"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Agent not found with id: -1"));
+
+        // Neither request changed the agent
+        org.assertj.core.api.Assertions.assertThat(
+                agentRepository.findAllWithMcpServerNamesByIdIn(java.util.List.of(id)).get(0).getMcpServerNames())
+                .containsExactly("Stripe");
+    }
+
     @Test
     void shouldGetNewAgentForm() throws Exception {
         mockMvc.perform(get("/agents/new"))
@@ -100,4 +164,67 @@ class AgentControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string(org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("ToDelete"))));
     }
+
+    @Test
+    void shouldPaginateAgentsWithCursors() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/agents")
+                    .param("name", "Paged Agent " + i)
+                    .param("systemPrompt", "Prompt"))
+                    .andExpect(status().is3xxRedirection());
+        }
+
+        MvcResult first = mockMvc.perform(get("/agents").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("previousCursor", org.hamcrest.Matchers.nullValue()))
+                .andExpect(model().attribute("nextCursor", org.hamcrest.Matchers.notNullValue()))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("&amp;size=2\"")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Paged Agent 2")))
+                .andExpect(content().string(org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("Paged Agent 0"))))
+                .andReturn();
+
+        String nextCursor = (String) first.getModelAndView().getModel().get("nextCursor");
+
+        mockMvc.perform(get("/agents").param("size", "2").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("previousCursor", org.hamcrest.Matchers.notNullValue()))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Paged Agent 0")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Previous")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("?before=")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("&amp;size=2\"")));
+    }
+
+    @Test
+    void shouldFallBackToFirstPageForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/agents").param("after", "not-a-cursor"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("previousCursor", org.hamcrest.Matchers.nullValue()));
+        mockMvc.perform(get("/agents").param("before", "2024-01-01T00:00_x"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("previousCursor", org.hamcrest.Matchers.nullValue()));
+    }
+
+    @Test
+    void shouldStreamMcpConfigForAgent() throws Exception {
+        Agent agent = new Agent("AgentWithMcpConfig");
+        agent.addMcpServerName("GitHub");
+        agent.addMcpServerName("NonExistentMCP");
+        Long id = agentRepository.save(agent).getId();
+
+        MvcResult result = mockMvc.perform(get("/agents/" + id + "/mcp.json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.servers.github.type").value("http"))
+                .andExpect(jsonPath("$.inputs[0].id").value("github_mcp_pat"));
+    }
+
+    @Test
+    void shouldReturnNotFoundForMcpConfigOfMissingAgent() throws Exception {
+        mockMvc.perform(get("/agents/999999/mcp.json"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,71 @@
+package dev.rebelcraft.ai.spawn.agents;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:spawn-agent-mcp-changes-test",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class AgentMcpServerChangesTest {
+
+    private static final int AGENTS = 10;
+    private static final int SERVERS = 25;
+
+    @Autowired
+    private AgentService agentService;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldApplyChangesToManyAgentsInBatches() {
+        List<String> servers = IntStream.range(0, SERVERS).mapToObj(i -> "server-" + i).toList();
+        List<AgentMcpServerChanges> changes = new ArrayList<>();
+        for (int i = 0; i < AGENTS; i++) {
+            Agent agent = new Agent("bulk-agent-" + i);
+            agent.addMcpServerName("Stripe");
+            changes.add(new AgentMcpServerChanges(agentRepository.save(agent).getId(), servers, List.of("Stripe")));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<AgentSummary> updated = agentService.applyMcpServerChanges(changes);
+
+        assertThat(updated).hasSize(AGENTS).allSatisfy(summary -> {
+            assertThat(summary.getMcpServerNames()).hasSize(SERVERS).doesNotContain("Stripe");
+            assertThat(summary.getUnmatchedMcpNames()).hasSize(SERVERS);
+        });
+        // The agents query, then one delete batch and one insert batch per agent,
+        // where one statement per row would take 260
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 2L * AGENTS);
+        assertThat(agentService.getAgentById(changes.get(0).getAgentId()).getMcpServerNames())
+            .containsExactlyInAnyOrderElementsOf(servers);
+    }
+
+    @Test
+    void shouldChangeNothingWhenAnAgentIsMissing() {
+        Agent agent = agentRepository.save(new Agent("bulk-agent-rollback"));
+
+        assertThatThrownBy(() -> agentService.applyMcpServerChanges(List.of(
+                new AgentMcpServerChanges(agent.getId(), List.of("GitHub"), List.of()),
+                new AgentMcpServerChanges(-1L, List.of("GitHub"), List.of()))))
+            .hasMessageContaining("Agent not found with id: -1");
+
+        assertThat(agentService.getAgentById(agent.getId()).getMcpServerNames()).isEmpty();
+    }
+}
@@ -3,12 +3,17 @@ package dev.rebelcraft.ai.spawn.agents;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Transactional
@@ -20,6 +25,12 @@ public class AgentServiceTest {
     @Autowired
     private AgentRepository agentRepository;
 
+    @Autowired
+    private AgentNameMigration nameMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void shouldCreateAgentAndMarkUnmatchedMcpNames() {
         AgentRequest request = new AgentRequest();
@@ -76,5 +87,94 @@ public class AgentServiceTest {
         agentService.deleteAgent(id);
         assertThat(agentRepository.existsById(id)).isFalse();
     }
-}
 
+    @Test
+    void shouldResolveAgentsByNamesInOneCall() {
+        agentService.createAgent(new AgentRequest("batch-agent-a", "Prompt A"));
+        agentService.createAgent(new AgentRequest("batch-agent-b", "Prompt B"));
+
+        Map<String, AgentResponse> resolved = agentService.getAgentsByNames(
+            Set.of("batch-agent-a", "batch-agent-b", "batch-agent-missing"));
+
+        assertThat(resolved).containsOnlyKeys("batch-agent-a", "batch-agent-b");
+        assertThat(resolved.get("batch-agent-a").getSystemPrompt()).isEqualTo("Prompt A");
+        assertThat(agentService.getAgentsByNames(Set.of())).isEmpty();
+    }
+
+    @Test
+    void shouldListAgentSummariesWithoutPrompts() {
+        AgentRequest request = new AgentRequest("summary-agent", "A very long prompt");
+        request.setDescription("Summarised");
+        request.setMcpServerNames(List.of("GitHub", "UnknownMCP"));
+        AgentResponse created = agentService.createAgent(request);
+        agentService.createAgent(new AgentRequest("summary-agent-bare", "Another prompt"));
+
+        List<AgentSummary> summaries = agentService.getAllAgentSummaries();
+
+        assertThat(summaries)
+            .filteredOn(summary -> summary.getId().equals(created.getId()))
+            .singleElement()
+            .satisfies(summary -> {
+                assertThat(summary.getName()).isEqualTo("summary-agent");
+                assertThat(summary.getDescription()).isEqualTo("Summarised");
+                assertThat(summary.getMcpServerNames()).containsExactlyInAnyOrder("GitHub", "UnknownMCP");
+                assertThat(summary.getUnmatchedMcpNames()).containsExactly("UnknownMCP");
+                assertThat(summary.getCreatedAt()).isNotNull();
+            });
+        assertThat(summaries)
+            .filteredOn(summary -> summary.getName().equals("summary-agent-bare"))
+            .singleElement()
+            .satisfies(summary -> assertThat(summary.getMcpServerNames()).isEmpty());
+        assertThat(agentService.getAgentsPage(null, null, 100).getItems())
+            .extracting(AgentSummary::getName)
+            .contains("summary-agent", "summary-agent-bare");
+    }
+
+    @Test
+    void shouldLookUpAgentsByNameIgnoringCase() {
+        AgentResponse created = agentService.createAgent(new AgentRequest("Lookup-Agent", "Prompt"));
+
+        assertThat(agentRepository.findByNormalizedName(Agent.normalizeName("  lookup-AGENT "))).get()
+            .extracting(Agent::getId)
+            .isEqualTo(created.getId());
+        assertThat(agentRepository.existsByNormalizedName(Agent.normalizeName("LOOKUP-agent"))).isTrue();
+        assertThat(agentRepository.existsByNormalizedName(Agent.normalizeName("lookup-agent-missing"))).isFalse();
+        assertThat(agentService.getAgentsByNames(Set.of("lookup-agent", "Lookup-Agent")))
+            .containsOnlyKeys("lookup-agent", "Lookup-Agent");
+    }
+
+    @Test
+    void shouldRejectDuplicateNameOnCreateAndRename() {
+        agentService.createAgent(new AgentRequest("Taken-Name", "Prompt"));
+        AgentResponse other = agentService.createAgent(new AgentRequest("Other-Name", "Prompt"));
+
+        assertThatThrownBy(() -> agentService.updateAgent(other.getId(), new AgentRequest("TAKEN-NAME", "Prompt")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("already exists");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldFillNormalizedNamesAndRenameCollisions() {
+        // As left behind by a database created before names were unique ignoring case
+        jdbcTemplate.execute("alter table agents drop constraint " + Agent.UNIQUE_NAME_CONSTRAINT);
+        jdbcTemplate.execute("alter table agents drop column normalized_name");
+        String insert = "insert into agents (name, created_at) values (?, ?)";
+        jdbcTemplate.update(insert, "Legacy-Agent", LocalDateTime.now());
+        jdbcTemplate.update(insert, " legacy-agent ", LocalDateTime.now());
+
+        nameMigration.migrate();
+        jdbcTemplate.execute("alter table agents add constraint " + Agent.UNIQUE_NAME_CONSTRAINT
+            + " unique (normalized_name)");
+
+        Agent original = agentRepository.findByNormalizedName("legacy-agent").orElseThrow();
+        Agent renamed = agentRepository.findByNormalizedName("legacy-agent (2)").orElseThrow();
+        try {
+            assertThat(original.getName()).isEqualTo("Legacy-Agent");
+            assertThat(renamed.getName()).isEqualTo("legacy-agent (2)");
+            assertThat(renamed.getId()).isGreaterThan(original.getId());
+        } finally {
+            agentRepository.deleteAll(List.of(original, renamed));
+        }
+    }
+}
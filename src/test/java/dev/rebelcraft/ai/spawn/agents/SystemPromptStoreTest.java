@@ -0,0 +1,144 @@
+package dev.rebelcraft.ai.spawn.agents;
+
+import dev.rebelcraft.ai.spawn.utils.JdbcSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+public class SystemPromptStoreTest {
+
+    private static final String LONG_PROMPT = "You are a meticulous code reviewer. ".repeat(1_000);
+
+    @Autowired
+    private AgentService agentService;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private SystemPromptRepository promptRepository;
+
+    @Autowired
+    private SystemPromptStore promptStore;
+
+    @Autowired
+    private SystemPromptBackfill promptBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldStoreIdenticalPromptsOnceAndCompressed() {
+        AgentResponse first = agentService.createAgent(new AgentRequest("shared-prompt-a", LONG_PROMPT));
+        AgentResponse second = agentService.createAgent(new AgentRequest("shared-prompt-b", LONG_PROMPT));
+
+        String hash = agentRepository.findById(first.getId()).orElseThrow().getSystemPromptHash();
+        assertThat(agentRepository.findById(second.getId()).orElseThrow().getSystemPromptHash()).isEqualTo(hash);
+        assertThat(hash).hasSize(64);
+
+        SystemPrompt stored = promptRepository.findById(hash).orElseThrow();
+        assertThat(stored.getOriginalLength()).isEqualTo(LONG_PROMPT.length());
+        assertThat(stored.getContent().length).isLessThan(LONG_PROMPT.length() / 10);
+        assertThat(agentService.getAgentById(second.getId()).getSystemPrompt()).isEqualTo(LONG_PROMPT);
+    }
+
+    @Test
+    void shouldDeletePromptOnceNoAgentUsesIt() {
+        AgentResponse first = agentService.createAgent(new AgentRequest("release-a", "Shared prompt"));
+        AgentResponse second = agentService.createAgent(new AgentRequest("release-b", "Shared prompt"));
+        String hash = agentRepository.findById(first.getId()).orElseThrow().getSystemPromptHash();
+
+        agentService.deleteAgent(first.getId());
+        assertThat(promptRepository.existsById(hash)).isTrue();
+
+        agentService.updateAgent(second.getId(), new AgentRequest("release-b", "A different prompt"));
+        assertThat(promptRepository.existsById(hash)).isFalse();
+        assertThat(agentService.getAgentById(second.getId()).getSystemPrompt()).isEqualTo("A different prompt");
+    }
+
+    @Test
+    void shouldDecompressThroughCache() {
+        String hash = promptStore.store("Cached prompt");
+        long hits = promptStore.getCacheStats().getHits();
+
+        assertThat(promptStore.load(hash)).isEqualTo("Cached prompt");
+        assertThat(promptStore.load(hash)).isEqualTo("Cached prompt");
+
+        assertThat(promptStore.getCacheStats().getHits()).isEqualTo(hits + 1);
+        assertThat(promptStore.load(null)).isNull();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldShareOnePromptBetweenConcurrentCreatesAndDeletes() throws Exception {
+        String prompt = "A prompt saved by racing agents";
+        AgentResponse existing = agentService.createAgent(new AgentRequest("racing-prompt-existing", prompt));
+        String hash = agentRepository.findById(existing.getId()).orElseThrow().getSystemPromptHash();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Long> created = new ArrayList<>();
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String name = "racing-prompt-" + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return agentService.createAgent(new AgentRequest(name, prompt)).getId();
+                }));
+            }
+            Future<?> delete = executor.submit(() -> {
+                start.await();
+                agentService.deleteAgent(existing.getId());
+                return null;
+            });
+            start.countDown();
+            for (Future<Long> future : futures) {
+                created.add(future.get());
+            }
+            delete.get();
+
+            for (Long id : created) {
+                assertThat(agentService.getAgentById(id).getSystemPrompt()).isEqualTo(prompt);
+            }
+        } finally {
+            executor.shutdownNow();
+            created.forEach(agentService::deleteAgent);
+        }
+        assertThat(promptRepository.existsById(hash)).isFalse();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldBackfillPromptsFromLegacyColumn() {
+        // As left behind by a database created before prompts were stored by hash
+        jdbcTemplate.execute("alter table agents add column system_prompt clob");
+        jdbcTemplate.update("insert into agents (name, normalized_name, created_at, system_prompt) values (?, ?, ?, ?)",
+            "legacy-prompt", "legacy-prompt", LocalDateTime.now(), "A prompt from before hashing");
+
+        promptBackfill.backfill();
+
+        Agent agent = agentRepository.findByNormalizedName("legacy-prompt").orElseThrow();
+        try {
+            assertThat(agent.getSystemPromptHash()).hasSize(64);
+            assertThat(agentService.getAgentById(agent.getId()).getSystemPrompt()).isEqualTo("A prompt from before hashing");
+            assertThat(JdbcSchema.hasColumn(jdbcTemplate, "agents", "system_prompt")).isFalse();
+        } finally {
+            agentService.deleteAgent(agent.getId());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -16,6 +17,9 @@ class ApplicationControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
     @Test
     void shouldCreateApplication() throws Exception {
         mockMvc.perform(post("/applications")
@@ -48,6 +52,14 @@ class ApplicationControllerIntegrationTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("<title>Applications - Spawn</title>")));
     }
 
+    @Test
+    void shouldFallBackToFirstPageForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/applications").param("after", "garbage"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("previousCursor", org.hamcrest.Matchers.nullValue()))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("<title>Applications - Spawn</title>")));
+    }
+
     @Test
     void shouldReturnNotFoundWhenApplicationDoesNotExist() throws Exception {
         mockMvc.perform(get("/applications/999"))
@@ -196,4 +208,35 @@ class ApplicationControllerIntegrationTest {
                 .andExpect(content().string(org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("Add Model"))))
                 .andExpect(content().string(org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("Add Agent"))));
     }
+
+    @Test
+    void shouldStreamMergedMcpConfigForApplication() throws Exception {
+        mockMvc.perform(post("/agents")
+                .param("name", "Mcp Config Agent A")
+                .param("systemPrompt", "Prompt")
+                .param("mcpServerNames", "GitHub")
+                .param("mcpServerNames", "Azure MCP Server"));
+        mockMvc.perform(post("/agents")
+                .param("name", "Mcp Config Agent B")
+                .param("systemPrompt", "Prompt")
+                .param("mcpServerNames", "github"));
+        mockMvc.perform(post("/applications")
+                .param("name", "Mcp Config App")
+                .param("agentNames", "Mcp Config Agent A")
+                .param("agentNames", "Mcp Config Agent B"));
+        Long id = applicationRepository.findAll().stream()
+                .filter(app -> "Mcp Config App".equals(app.getName()))
+                .findFirst().orElseThrow().getId();
+
+        MvcResult result = mockMvc.perform(get("/applications/" + id + "/mcp.json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.servers.length()").value(2))
+                .andExpect(jsonPath("$.servers.github.url").value("${input:github_api_base}mcp/"))
+                .andExpect(jsonPath("$.servers.azure.type").value("http"))
+                .andExpect(jsonPath("$.inputs.length()").value(3));
+    }
 }
@@ -0,0 +1,151 @@
+package dev.rebelcraft.ai.spawn.apps;
+
+import dev.rebelcraft.ai.spawn.agents.AgentRequest;
+import dev.rebelcraft.ai.spawn.agents.AgentService;
+import dev.rebelcraft.ai.spawn.agents.SystemPromptStore;
+import dev.rebelcraft.ai.spawn.utils.KeysetPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Separate database so generated ids do not shift for tests that address /applications/1
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:spawn-app-service-test")
+@Transactional
+public class ApplicationServiceTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private AgentService agentService;
+
+    @Autowired
+    private SystemPromptStore promptStore;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldListApplicationsWithConstantQueryCount() {
+        agentService.createAgent(new AgentRequest("qc-agent-a", "Prompt A"));
+        agentService.createAgent(new AgentRequest("qc-agent-b", "Prompt B"));
+
+        createApplications("qc-small", 2, Set.of("qc-agent-a", "qc-agent-b"));
+        long smallQueries = countQueries();
+
+        createApplications("qc-large", 10, Set.of("qc-agent-a", "qc-agent-b"));
+        long largeQueries = countQueries();
+
+        assertThat(largeQueries).isEqualTo(smallQueries);
+    }
+
+    @Test
+    void shouldLoadCollectionsWhenListingApplications() {
+        agentService.createAgent(new AgentRequest("qc-agent-c", "Prompt C"));
+        createApplications("qc-loaded", 1, Set.of("qc-agent-c"));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ApplicationResponse> applications = applicationService.getAllApplications();
+
+        ApplicationResponse loaded = applications.stream()
+            .filter(a -> a.getName().equals("qc-loaded-0"))
+            .findFirst()
+            .orElseThrow();
+        assertThat(loaded.getModels()).extracting("provider").containsExactlyInAnyOrder("OpenAI", "Anthropic Claude");
+        assertThat(loaded.getAgents()).extracting("name").containsExactly("qc-agent-c");
+    }
+
+    @Test
+    void shouldListApplicationsWithoutLoadingSystemPrompts() {
+        agentService.createAgent(new AgentRequest("qc-agent-d", "Prompt D"));
+        createApplications("qc-summary", 3, Set.of("qc-agent-d"));
+        entityManager.flush();
+        entityManager.clear();
+        long hits = promptStore.getCacheStats().getHits();
+        long misses = promptStore.getCacheStats().getMisses();
+
+        applicationService.getApplicationsPage(null, null, 10);
+        applicationService.getAllApplications();
+
+        assertThat(promptStore.getCacheStats().getHits()).isEqualTo(hits);
+        assertThat(promptStore.getCacheStats().getMisses()).isEqualTo(misses);
+    }
+
+    @Test
+    void shouldPageApplicationsForwardAndBackward() {
+        createApplications("page", 5, Set.of());
+        entityManager.flush();
+        entityManager.clear();
+
+        KeysetPage<ApplicationResponse> first = applicationService.getApplicationsPage(null, null, 2);
+        assertThat(first.getItems()).extracting("name").containsExactly("page-4", "page-3");
+        assertThat(first.getPreviousCursor()).isNull();
+        assertThat(first.getNextCursor()).isNotNull();
+
+        KeysetPage<ApplicationResponse> second = applicationService.getApplicationsPage(first.getNextCursor(), null, 2);
+        assertThat(second.getItems()).extracting("name").containsExactly("page-2", "page-1");
+
+        KeysetPage<ApplicationResponse> back = applicationService.getApplicationsPage(null, second.getPreviousCursor(), 2);
+        assertThat(back.getItems()).extracting("name").containsExactly("page-4", "page-3");
+        assertThat(back.getPreviousCursor()).isNull();
+        assertThat(back.getNextCursor()).isEqualTo(first.getNextCursor());
+    }
+
+    @Test
+    void shouldLoadRecentApplicationsInOneQuery() {
+        createApplications("recent", 8, Set.of());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<ApplicationResponse> recent = applicationService.getRecentApplications(5);
+
+        long queries = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        assertThat(recent).extracting("name")
+            .containsExactly("recent-7", "recent-6", "recent-5", "recent-4", "recent-3");
+        assertThat(queries).isEqualTo(1);
+    }
+
+    private void createApplications(String prefix, int count, Set<String> agentNames) {
+        for (int i = 0; i < count; i++) {
+            ApplicationRequest request = new ApplicationRequest(prefix + "-" + i);
+            request.setModelProviders(Set.of("OpenAI", "Anthropic Claude"));
+            request.setAgentNames(agentNames);
+            applicationService.createApplication(request);
+        }
+    }
+
+    private long countQueries() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        applicationService.getAllApplications();
+
+        long count = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return count;
+    }
+}
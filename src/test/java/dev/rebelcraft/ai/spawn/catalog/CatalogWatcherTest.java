@@ -0,0 +1,139 @@
+package dev.rebelcraft.ai.spawn.catalog;
+
+import dev.rebelcraft.ai.spawn.mcp.McpServerResponse;
+import dev.rebelcraft.ai.spawn.mcp.McpServerService;
+import dev.rebelcraft.ai.spawn.mcp.McpTemplateService;
+import dev.rebelcraft.ai.spawn.models.ModelResponse;
+import dev.rebelcraft.ai.spawn.models.ModelService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:spawn-catalog-watcher-test",
+    "spawn.catalog.reload-delay=PT0.1S"
+})
+public class CatalogWatcherTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private static final String MODELS_HEADER =
+        "Provider,Multimodality,Tools/Functions,Streaming,Retry,Observability,Built-in JSON,Local,OpenAI API Compatible\n";
+    private static final String MODELS =
+        MODELS_HEADER
+        + "Alpha,text,yes,yes,no,no,no,no,no\n"
+        + "Beta,text,no,yes,no,no,no,yes,yes\n";
+    private static final String MCP_SERVERS =
+        "Name,Icon,Description\n"
+        + "Widget,https://example.com/widget.png,Widget tools\n"
+        + "Gadget,https://example.com/gadget.png,Gadget tools\n";
+    private static final String TEMPLATE =
+        "{\"servers\": {\"%s\": {\"type\": \"http\", \"url\": \"https://%s.example.com/mcp\"}}, \"inputs\": []}";
+
+    private static final Path directory;
+
+    static {
+        try {
+            directory = Files.createTempDirectory("spawn-catalog");
+            Files.writeString(directory.resolve(CatalogDirectory.MODELS_FILE), MODELS);
+            Files.writeString(directory.resolve(CatalogDirectory.MCP_SERVERS_FILE), MCP_SERVERS);
+            Files.createDirectory(directory.resolve(CatalogDirectory.TEMPLATES_DIR));
+            Files.writeString(directory.resolve("templates/widget.json"), TEMPLATE.formatted("widget", "widget"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void catalogDirectory(DynamicPropertyRegistry registry) {
+        registry.add("spawn.catalog.directory", directory::toString);
+    }
+
+    @Autowired
+    private ModelService modelService;
+
+    @Autowired
+    private McpServerService mcpServerService;
+
+    @Autowired
+    private McpTemplateService templateService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @AfterEach
+    void restoreCatalog() throws IOException {
+        Files.writeString(directory.resolve(CatalogDirectory.MODELS_FILE), MODELS);
+        Files.deleteIfExists(directory.resolve("templates/gadget.json"));
+        eventPublisher.publishEvent(new CatalogChangedEvent(Set.of(
+            CatalogDirectory.MODELS_FILE, CatalogDirectory.TEMPLATES_DIR)));
+    }
+
+    @Test
+    void shouldLoadCatalogsFromDirectory() {
+        assertThat(modelService.getAllModels())
+            .extracting(ModelResponse::getProvider)
+            .containsExactly("Alpha", "Beta");
+        assertThat(mcpServerService.getMcpServerByName("widget"))
+            .get()
+            .extracting(McpServerResponse::getTemplateFilename)
+            .isEqualTo("widget.json");
+        // Bundled templates are still available alongside the directory's
+        assertThat(templateService.getTemplateFilenameForServer("GitHub")).contains("GitHub.json");
+    }
+
+    @Test
+    void shouldReloadChangedModelsWithoutRestart() throws Exception {
+        Files.writeString(directory.resolve(CatalogDirectory.MODELS_FILE),
+            MODELS + "Gamma,text,yes,no,no,no,no,no,no\n");
+
+        assertThat(await(() -> modelService.getModelByProvider("gamma").isPresent())).isTrue();
+        assertThat(modelService.getAllModels()).hasSize(3);
+    }
+
+    @Test
+    void shouldJoinNewTemplatesToExistingServers() throws Exception {
+        assertThat(mcpServerService.getMcpServerByName("Gadget").orElseThrow().isTemplateAvailable()).isFalse();
+
+        Files.writeString(directory.resolve("templates/gadget.json"), TEMPLATE.formatted("gadget", "gadget"));
+
+        assertThat(await(() -> mcpServerService.getMcpServerByName("Gadget").orElseThrow().isTemplateAvailable()))
+            .isTrue();
+        assertThat(templateService.compileTemplate(templateService.getTemplateForServer("Gadget").orElseThrow()))
+            .contains("https://gadget.example.com/mcp");
+    }
+
+    @Test
+    void shouldKeepCurrentCatalogWhenReloadFails() throws Exception {
+        Files.writeString(directory.resolve(CatalogDirectory.MODELS_FILE), MODELS_HEADER + "\"Unterminated,text\n");
+
+        eventPublisher.publishEvent(new CatalogChangedEvent(Set.of(CatalogDirectory.MODELS_FILE)));
+
+        assertThat(modelService.getAllModels())
+            .extracting(ModelResponse::getProvider)
+            .containsExactly("Alpha", "Beta");
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+}
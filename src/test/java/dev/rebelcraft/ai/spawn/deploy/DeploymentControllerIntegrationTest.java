@@ -0,0 +1,49 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import dev.rebelcraft.ai.spawn.apps.ApplicationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DeploymentControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Test
+    void shouldQueueDeploymentAndRedirectToApplication() throws Exception {
+        mockMvc.perform(post("/applications")
+                .param("name", "Deployable App"));
+        Long id = applicationRepository.findByName("Deployable App").orElseThrow().getId();
+
+        mockMvc.perform(post("/applications/" + id + "/deploy"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/applications/" + id));
+
+        mockMvc.perform(get("/applications/" + id))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("/applications/" + id + "/deploy")));
+
+        mockMvc.perform(get("/deployments"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<title>Deployments - Spawn</title>")))
+                .andExpect(content().string(containsString("Deployable App")));
+    }
+
+    @Test
+    void shouldRejectDeploymentOfUnknownApplication() throws Exception {
+        mockMvc.perform(post("/applications/999999/deploy"))
+                .andExpect(status().is4xxClientError());
+    }
+}
@@ -0,0 +1,294 @@
+package dev.rebelcraft.ai.spawn.deploy;
+
+import dev.rebelcraft.ai.spawn.agents.AgentRequest;
+import dev.rebelcraft.ai.spawn.agents.AgentService;
+import dev.rebelcraft.ai.spawn.apps.ApplicationRequest;
+import dev.rebelcraft.ai.spawn.apps.ApplicationResponse;
+import dev.rebelcraft.ai.spawn.apps.ApplicationService;
+import dev.rebelcraft.ai.spawn.docker.DockerTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:spawn-deployment-service-test",
+    "spawn.deploy.retry-backoff=PT0S",
+    "spawn.deploy.base-image-refresh=PT0S",
+    "spawn.deploy.poll-interval=PT0.1S",
+    "spawn.deploy.max-attempts=3"
+})
+public class DeploymentServiceTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private DeploymentService deploymentService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private AgentService agentService;
+
+    @Autowired
+    private FakeDockerTemplate dockerTemplate;
+
+    @BeforeEach
+    void resetDocker() {
+        dockerTemplate.failuresByTag.clear();
+        dockerTemplate.baseImageDigest = "sha256:base-1";
+        dockerTemplate.registryReachable = true;
+        dockerTemplate.registryGate = null;
+    }
+
+    @Test
+    void shouldBuildAndStartApplication() throws Exception {
+        ApplicationResponse app = createApplication("deploy-ok");
+
+        DeploymentJobResponse queued = deploymentService.deployApplication(app.getId());
+        assertThat(queued.getStatus()).isEqualTo(DeploymentStatus.QUEUED);
+
+        DeploymentJobResponse job = awaitFinished(queued.getId());
+        assertThat(job.getStatus()).isEqualTo(DeploymentStatus.SUCCEEDED);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getImageId()).isEqualTo("sha256:spawn/app-" + app.getId() + ":" + job.getId());
+        assertThat(job.getContainerId()).isEqualTo("container-spawn-app-" + app.getId() + "-" + job.getId());
+        assertThat(dockerTemplate.configs.get(job.getId()))
+            .contains("\"name\" : \"deploy-ok\"")
+            .contains("\"OpenAI\"");
+    }
+
+    @Test
+    void shouldRetryFailedBuilds() throws Exception {
+        ApplicationResponse app = createApplication("deploy-flaky");
+        dockerTemplate.failuresByTag.put("spawn/app-" + app.getId(), new AtomicInteger(1));
+
+        DeploymentJobResponse job = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+
+        assertThat(job.getStatus()).isEqualTo(DeploymentStatus.SUCCEEDED);
+        assertThat(job.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFailAfterMaxAttempts() throws Exception {
+        ApplicationResponse app = createApplication("deploy-broken");
+        dockerTemplate.failuresByTag.put("spawn/app-" + app.getId(), new AtomicInteger(Integer.MAX_VALUE));
+
+        DeploymentJobResponse job = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+
+        assertThat(job.getStatus()).isEqualTo(DeploymentStatus.FAILED);
+        assertThat(job.getAttempts()).isEqualTo(3);
+        assertThat(job.getLastError()).isEqualTo("Build failed");
+        assertThat(job.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldReuseImageWhenConfigurationIsUnchanged() throws Exception {
+        AgentRequest agent = new AgentRequest("deploy-cache-agent", "You review pull requests");
+        agent.setMcpServerNames(List.of("GitHub"));
+        agentService.createAgent(agent);
+        ApplicationRequest request = new ApplicationRequest("deploy-cache");
+        request.setModelProviders(Set.of("OpenAI"));
+        request.setAgentNames(Set.of("deploy-cache-agent"));
+        ApplicationResponse app = applicationService.createApplication(request);
+
+        DeploymentJobResponse first = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+        DeploymentJobResponse second = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+
+        assertThat(first.isCacheHit()).isFalse();
+        assertThat(dockerTemplate.configs.get(first.getId()))
+            .contains("\"systemPrompt\" : \"You review pull requests\"")
+            .contains("\"servers\"");
+        assertThat(second.getStatus()).isEqualTo(DeploymentStatus.SUCCEEDED);
+        assertThat(second.isCacheHit()).isTrue();
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+        assertThat(second.getImageId()).isEqualTo(first.getImageId());
+        assertThat(dockerTemplate.configs).doesNotContainKey(second.getId());
+
+        applicationService.addModelToApplication(app.getId(), "Anthropic Claude");
+        DeploymentJobResponse third = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+
+        assertThat(third.isCacheHit()).isFalse();
+        assertThat(third.getContentHash()).isNotEqualTo(first.getContentHash());
+        assertThat(dockerTemplate.configs).containsKey(third.getId());
+    }
+
+    @Test
+    void shouldRebuildWhenBaseImageTagMoves() throws Exception {
+        ApplicationResponse app = createApplication("deploy-base-moved");
+
+        DeploymentJobResponse first = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+        dockerTemplate.baseImageDigest = "sha256:base-2";
+        DeploymentJobResponse second = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+
+        assertThat(dockerTemplate.dockerfiles.get(first.getId()))
+            .startsWith("FROM ghcr.io/teggr/spawn-runtime@sha256:base-1\n");
+        assertThat(second.getStatus()).isEqualTo(DeploymentStatus.SUCCEEDED);
+        assertThat(second.isCacheHit()).isFalse();
+        assertThat(second.getContentHash()).isNotEqualTo(first.getContentHash());
+        assertThat(dockerTemplate.dockerfiles.get(second.getId()))
+            .startsWith("FROM ghcr.io/teggr/spawn-runtime@sha256:base-2\n");
+    }
+
+    @Test
+    void shouldReuseImageWhileRegistryIsUnreachable() throws Exception {
+        ApplicationResponse app = createApplication("deploy-offline");
+
+        DeploymentJobResponse first = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+        dockerTemplate.registryReachable = false;
+        DeploymentJobResponse second = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+
+        assertThat(second.getStatus()).isEqualTo(DeploymentStatus.SUCCEEDED);
+        assertThat(second.isCacheHit()).isTrue();
+        assertThat(second.getImageId()).isEqualTo(first.getImageId());
+    }
+
+    @Test
+    void shouldNotHoldUpJobsWhileBaseImageIsPulled() throws Exception {
+        ApplicationResponse app = createApplication("deploy-slow-registry");
+        DeploymentJobResponse first = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+
+        CountDownLatch gate = new CountDownLatch(1);
+        dockerTemplate.registryGate = gate;
+        try {
+            // One job waits on the pull; the other uses the digest already pinned
+            DeploymentJobResponse pulling = deploymentService.deployApplication(app.getId());
+            DeploymentJobResponse other = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+
+            assertThat(other.getStatus()).isEqualTo(DeploymentStatus.SUCCEEDED);
+            assertThat(other.getImageId()).isEqualTo(first.getImageId());
+            assertThat(deploymentService.getJobById(pulling.getId()).getStatus().isFinished()).isFalse();
+        } finally {
+            gate.countDown();
+        }
+    }
+
+    @Test
+    void shouldRebuildWhenCachedImageIsGone() throws Exception {
+        ApplicationResponse app = createApplication("deploy-pruned");
+
+        DeploymentJobResponse first = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+        dockerTemplate.images.remove(first.getImageId());
+        DeploymentJobResponse second = awaitFinished(deploymentService.deployApplication(app.getId()).getId());
+
+        assertThat(second.getStatus()).isEqualTo(DeploymentStatus.SUCCEEDED);
+        assertThat(second.isCacheHit()).isFalse();
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+    }
+
+    @Test
+    void shouldQueueManyDeploymentsAtOnce() throws Exception {
+        List<Long> applicationIds = List.of(
+            createApplication("deploy-bulk-1").getId(),
+            createApplication("deploy-bulk-2").getId(),
+            createApplication("deploy-bulk-3").getId());
+
+        List<DeploymentJobResponse> jobs = deploymentService.deployApplications(applicationIds);
+
+        assertThat(jobs).hasSize(3);
+        for (DeploymentJobResponse job : jobs) {
+            assertThat(awaitFinished(job.getId()).getStatus()).isEqualTo(DeploymentStatus.SUCCEEDED);
+        }
+        assertThat(deploymentService.getJobsForApplication(applicationIds.get(0), 5)).hasSize(1);
+    }
+
+    private ApplicationResponse createApplication(String name) {
+        ApplicationRequest request = new ApplicationRequest(name);
+        request.setModelProviders(Set.of("OpenAI"));
+        return applicationService.createApplication(request);
+    }
+
+    private DeploymentJobResponse awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        DeploymentJobResponse job = deploymentService.getJobById(jobId);
+        while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            job = deploymentService.getJobById(jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Records what would have been sent to Docker and fails builds on demand.
+     */
+    static class FakeDockerTemplate implements DockerTemplate {
+
+        final ConcurrentHashMap<String, AtomicInteger> failuresByTag = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, String> configs = new ConcurrentHashMap<>();
+        final Set<String> images = ConcurrentHashMap.newKeySet();
+        final ConcurrentHashMap<Long, String> dockerfiles = new ConcurrentHashMap<>();
+        volatile String baseImageDigest = "sha256:base-1";
+        volatile boolean registryReachable = true;
+        volatile CountDownLatch registryGate;
+
+        @Override
+        public String buildImage(Path contextDir, String tag) {
+            AtomicInteger failures = failuresByTag.get(tag.substring(0, tag.indexOf(':')));
+            if (failures != null && failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("Build failed");
+            }
+            try {
+                assertThat(contextDir.resolve("Dockerfile")).exists();
+                Long jobId = Long.valueOf(tag.substring(tag.indexOf(':') + 1));
+                configs.put(jobId, Files.readString(contextDir.resolve(DeploymentBundleWriter.CONFIG_FILENAME)));
+                dockerfiles.put(jobId, Files.readString(contextDir.resolve("Dockerfile")));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            images.add("sha256:" + tag);
+            return "sha256:" + tag;
+        }
+
+        @Override
+        public String resolveImage(String image) {
+            CountDownLatch gate = registryGate;
+            try {
+                if (gate != null && !gate.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Registry timed out");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (!registryReachable) {
+                throw new IllegalStateException("Registry unreachable");
+            }
+            return image.substring(0, image.lastIndexOf(':')) + "@" + baseImageDigest;
+        }
+
+        @Override
+        public boolean imageExists(String imageId) {
+            return images.contains(imageId);
+        }
+
+        @Override
+        public String startContainer(String imageId, String containerName) {
+            return "container-" + containerName;
+        }
+    }
+
+    @TestConfiguration
+    static class FakeDockerConfig {
+
+        @Bean
+        @Primary
+        FakeDockerTemplate fakeDockerTemplate() {
+            return new FakeDockerTemplate();
+        }
+    }
+}
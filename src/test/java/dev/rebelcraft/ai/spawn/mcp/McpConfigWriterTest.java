@@ -0,0 +1,71 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class McpConfigWriterTest {
+
+    @Autowired
+    private McpConfigWriter mcpConfigWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldMergeServersAndInputsOfEveryTemplate() throws IOException {
+        JsonNode config = write(List.of("GitHub", "Azure MCP Server"));
+
+        assertThat(fieldNames(config.get("servers"))).containsExactly("github", "azure");
+        assertThat(config.get("inputs").findValuesAsText("id"))
+            .containsExactly("github_mcp_pat", "github_api_base", "azure_token");
+    }
+
+    @Test
+    void shouldKeepInputReferencesForTheClient() throws IOException {
+        JsonNode config = write(List.of("GitHub"));
+
+        assertThat(config.at("/servers/github/headers/Authorization").asText())
+            .isEqualTo("Bearer ${input:github_mcp_pat}");
+        assertThat(config.at("/inputs/0/password").asBoolean()).isTrue();
+    }
+
+    @Test
+    void shouldWriteEachTemplateOnce() throws IOException {
+        JsonNode config = write(List.of("GitHub", "github", "azure-mcp-server", "Azure MCP Server", "GitHub"));
+
+        assertThat(fieldNames(config.get("servers"))).containsExactly("github", "azure");
+        assertThat(config.get("inputs")).hasSize(3);
+    }
+
+    @Test
+    void shouldSkipServersWithoutTemplates() throws IOException {
+        JsonNode config = write(List.of("NonExistentServer", "Stripe"));
+
+        assertThat(config.get("servers").isEmpty()).isTrue();
+        assertThat(config.get("inputs").isEmpty()).isTrue();
+    }
+
+    private JsonNode write(Collection<String> serverNames) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mcpConfigWriter.write(serverNames, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
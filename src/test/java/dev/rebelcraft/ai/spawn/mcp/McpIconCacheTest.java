@@ -0,0 +1,273 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class McpIconCacheTest {
+
+    private static final String ORIGIN_ETAG = "\"v1\"";
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @TempDir
+    Path directory;
+
+    private HttpServer origin;
+    private byte[] png;
+    private final AtomicInteger fullResponses = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final AtomicInteger failedResponses = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    @BeforeEach
+    void startOrigin() throws IOException {
+        png = png(64, 48);
+        origin = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        origin.createContext("/icon.png", exchange -> {
+            if (failing.get()) {
+                failedResponses.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+            } else if (ORIGIN_ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                fullResponses.incrementAndGet();
+                exchange.getResponseHeaders().add("Content-Type", "image/png");
+                exchange.getResponseHeaders().add("ETag", ORIGIN_ETAG);
+                exchange.sendResponseHeaders(200, png.length);
+                exchange.getResponseBody().write(png);
+            }
+            exchange.close();
+        });
+        origin.createContext("/page.html", exchange -> {
+            byte[] body = "<html></html>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        origin.createContext("/icon.svg", exchange -> {
+            byte[] body = "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>"
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "image/svg+xml");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        origin.createContext("/huge.png", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, 32 * 64 * 1024);
+            streamUntilClosed(exchange.getResponseBody(), 32);
+            exchange.close();
+        });
+        origin.createContext("/endless.png", exchange -> {
+            // Chunked, so the size is only known by reading
+            exchange.getResponseHeaders().add("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, 0);
+            streamUntilClosed(exchange.getResponseBody(), 1024);
+            exchange.close();
+        });
+        origin.start();
+    }
+
+    @AfterEach
+    void stopOrigin() {
+        origin.stop(0);
+    }
+
+    @Test
+    void shouldFetchIconOnceAndServeItFromDisk() {
+        McpIconCache cache = new McpIconCache(directory.toString(), Duration.ofDays(1), Duration.ofSeconds(2));
+
+        McpIcon first = cache.getIcon(url("/icon.png"), null).orElseThrow();
+        McpIcon second = cache.getIcon(url("/icon.png"), null).orElseThrow();
+        // A new instance over the same directory, as after a restart
+        McpIcon afterRestart = new McpIconCache(directory.toString(), Duration.ofDays(1), Duration.ofSeconds(2))
+            .getIcon(url("/icon.png"), null).orElseThrow();
+
+        assertThat(first.getContent()).isEqualTo(png);
+        assertThat(first.getContentType()).isEqualTo("image/png");
+        assertThat(second.getEtag()).isEqualTo(first.getEtag());
+        assertThat(afterRestart.getContent()).isEqualTo(png);
+        assertThat(fullResponses).hasValue(1);
+    }
+
+    @Test
+    void shouldRevalidateStaleIconWithOriginEtag() throws InterruptedException {
+        McpIconCache cache = new McpIconCache(directory.toString(), Duration.ZERO, Duration.ofSeconds(2));
+
+        McpIcon first = cache.getIcon(url("/icon.png"), null).orElseThrow();
+        McpIcon revalidated = cache.getIcon(url("/icon.png"), null).orElseThrow();
+
+        assertThat(revalidated.getContent()).isEqualTo(png);
+        assertThat(revalidated.getEtag()).isEqualTo(first.getEtag());
+        assertThat(await(() -> notModifiedResponses.get() == 1)).isTrue();
+        assertThat(fullResponses).hasValue(1);
+    }
+
+    @Test
+    void shouldServeStaleIconWhenOriginFails() throws InterruptedException {
+        McpIconCache cache = new McpIconCache(directory.toString(), Duration.ZERO, Duration.ofSeconds(2));
+        cache.getIcon(url("/icon.png"), null).orElseThrow();
+
+        failing.set(true);
+
+        assertThat(cache.getIcon(url("/icon.png"), null)).get()
+            .extracting(McpIcon::getContent)
+            .isEqualTo(png);
+        assertThat(await(() -> failedResponses.get() == 1)).isTrue();
+    }
+
+    @Test
+    void shouldNotAskFailingOriginAgainUntilStaleAgain() throws InterruptedException {
+        McpIconCache cache = new McpIconCache(directory.toString(), Duration.ofMillis(500), Duration.ofSeconds(2));
+        cache.getIcon(url("/icon.png"), null).orElseThrow();
+        Thread.sleep(600);
+        failing.set(true);
+
+        assertThat(cache.getIcon(url("/icon.png"), null)).isPresent();
+        assertThat(await(() -> failedResponses.get() == 1)).isTrue();
+        assertThat(cache.getIcon(url("/icon.png"), null)).get()
+            .extracting(McpIcon::getContent)
+            .isEqualTo(png);
+        Thread.sleep(200);
+
+        // The failed attempt counts as fresh, so the second request stays on disk
+        assertThat(failedResponses).hasValue(1);
+    }
+
+    @Test
+    void shouldServeEtagRecordedWhenIconWasWritten() throws IOException {
+        McpIconCache cache = new McpIconCache(directory.toString(), Duration.ofDays(1), Duration.ofSeconds(2));
+        String etag = cache.getIcon(url("/icon.png"), null).orElseThrow().getEtag();
+
+        // Changed behind the cache's back, so an ETag hashed from the file would change too
+        try (var files = Files.list(directory)) {
+            Files.write(files.filter(file -> file.toString().endsWith(".img")).findFirst().orElseThrow(),
+                new byte[] {1, 2, 3});
+        }
+
+        assertThat(cache.getIcon(url("/icon.png"), null).orElseThrow().getEtag()).isEqualTo(etag);
+    }
+
+    @Test
+    void shouldScaleThumbnailsToFitRequestedSize() throws IOException {
+        McpIconCache cache = new McpIconCache(directory.toString(), Duration.ofDays(1), Duration.ofSeconds(2));
+
+        McpIcon thumbnail = cache.getIcon(url("/icon.png"), 16).orElseThrow();
+        McpIcon again = cache.getIcon(url("/icon.png"), 16).orElseThrow();
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail.getContent()));
+        assertThat(thumbnail.getContentType()).isEqualTo("image/png");
+        assertThat(image.getWidth()).isEqualTo(16);
+        assertThat(image.getHeight()).isEqualTo(12);
+        assertThat(again.getEtag()).isEqualTo(thumbnail.getEtag());
+        assertThat(thumbnail.getEtag()).isNotEqualTo(cache.getIcon(url("/icon.png"), null).orElseThrow().getEtag());
+        assertThat(fullResponses).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectNonImagesAndUnreachableOrigins() {
+        McpIconCache cache = new McpIconCache(directory.toString(), Duration.ofDays(1), Duration.ofSeconds(2));
+
+        assertThat(cache.getIcon(url("/page.html"), null)).isEmpty();
+        assertThat(cache.getIcon(url("/icon.svg"), null)).isEmpty();
+        assertThat(cache.getIcon(url("/icon.svg"), 32)).isEmpty();
+        assertThat(cache.getIcon(url("/missing.png"), null)).isEmpty();
+        assertThat(cache.getIcon("file:///etc/passwd", null)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectOversizedIconsWithoutReadingThemWhole() {
+        McpIconCache cache = new McpIconCache(directory.toString(), Duration.ofDays(1), Duration.ofSeconds(2));
+
+        assertThat(cache.getIcon(url("/huge.png"), null)).isEmpty();
+        assertThat(cache.getIcon(url("/endless.png"), null)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectHugeDimensionsBeforeDecoding() throws IOException {
+        // A few hundred bytes claiming 50000 x 50000 pixels, about 10 GB once decoded
+        byte[] bomb = png(4, 4);
+        ByteBuffer header = ByteBuffer.wrap(bomb);
+        header.putInt(16, 50_000).putInt(20, 50_000);
+        CRC32 crc = new CRC32();
+        crc.update(bomb, 12, 17);
+        header.putInt(29, (int) crc.getValue());
+
+        assertThatThrownBy(() -> McpIconCache.resize(bomb, 16))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("50000x50000");
+        assertThat(McpIconCache.resize(png(64, 48), 16)).isNotNull();
+    }
+
+    @Test
+    void shouldAcceptOnlyRasterContentTypes() {
+        assertThat(McpIconCache.rasterType("image/PNG; charset=binary")).isEqualTo("image/png");
+        assertThat(McpIconCache.rasterType("image/x-icon")).isEqualTo("image/x-icon");
+        assertThat(McpIconCache.rasterType("image/svg+xml")).isNull();
+        assertThat(McpIconCache.rasterType("text/html")).isNull();
+        assertThat(McpIconCache.rasterType(null)).isNull();
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    // Writes 64 KB chunks, stopping as soon as the client hangs up
+    private static void streamUntilClosed(OutputStream out, int chunks) {
+        byte[] chunk = new byte[64 * 1024];
+        try {
+            for (int i = 0; i < chunks; i++) {
+                out.write(chunk);
+            }
+        } catch (IOException e) {
+            // Client closed the connection
+        }
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + origin.getAddress().getPort() + path;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, 0xFF000000 | (x * 4 << 16) | (y * 4 << 8));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
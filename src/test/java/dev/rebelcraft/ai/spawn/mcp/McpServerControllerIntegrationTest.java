@@ -24,4 +24,28 @@ class McpServerControllerIntegrationTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("Markitdown")))
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("GitHub")));
     }
+
+    @Test
+    void shouldSearchMcpServers() throws Exception {
+        mockMvc.perform(get("/mcp-servers").param("q", "azure dev"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Azure DevOps")))
+                .andExpect(content().string(org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("Markitdown"))))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("value=\"azure dev\"")));
+    }
+
+    @Test
+    void shouldShowMessageWhenNothingMatches() throws Exception {
+        mockMvc.perform(get("/mcp-servers").param("q", "zzzz"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("No MCP servers match")));
+    }
+
+    @Test
+    void shouldAutocompleteMcpServerNames() throws Exception {
+        mockMvc.perform(get("/mcp-servers/autocomplete").param("q", "azu").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value(org.hamcrest.Matchers.startsWith("Azure")));
+    }
 }
@@ -0,0 +1,129 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import com.sun.net.httpserver.HttpServer;
+import dev.rebelcraft.ai.spawn.catalog.CatalogDirectory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:spawn-mcp-icon-test",
+    "spawn.mcp.icons.max-age=P7D"
+})
+@AutoConfigureMockMvc
+class McpServerIconIntegrationTest {
+
+    private static final HttpServer origin;
+    private static final Path directory;
+    private static final byte[] PNG;
+
+    static {
+        try {
+            BufferedImage image = new BufferedImage(128, 128, BufferedImage.TYPE_INT_ARGB);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            PNG = out.toByteArray();
+
+            origin = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            origin.createContext("/avatar.png", exchange -> {
+                exchange.getResponseHeaders().add("Content-Type", "image/png");
+                exchange.sendResponseHeaders(200, PNG.length);
+                exchange.getResponseBody().write(PNG);
+                exchange.close();
+            });
+            origin.start();
+
+            directory = Files.createTempDirectory("spawn-icon-catalog");
+            Files.writeString(directory.resolve(CatalogDirectory.MCP_SERVERS_FILE),
+                "Name,Icon,Description\n"
+                + "Avatar,http://127.0.0.1:" + origin.getAddress().getPort() + "/avatar.png,Has an icon\n"
+                + "Broken,http://127.0.0.1:" + origin.getAddress().getPort() + "/missing.png,Icon is gone\n"
+                + "Spaced Name,http://127.0.0.1:" + origin.getAddress().getPort() + "/avatar.png,Needs encoding\n");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void catalog(DynamicPropertyRegistry registry) {
+        registry.add("spawn.catalog.directory", directory::toString);
+        registry.add("spawn.mcp.icons.cache-directory", () -> directory.resolve("icons").toString());
+    }
+
+    @AfterAll
+    static void stopOrigin() {
+        origin.stop(0);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldServeCachedIconWithLongLivedCacheHeaders() throws Exception {
+        mockMvc.perform(get("/mcp-servers/Avatar/icon"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "image/png"))
+            .andExpect(header().string("Cache-Control", "max-age=604800, public"))
+            .andExpect(header().exists("ETag"))
+            .andExpect(header().exists("Last-Modified"))
+            .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+            .andExpect(header().string("Content-Security-Policy", "default-src 'none'; sandbox"))
+            .andExpect(content().bytes(PNG));
+    }
+
+    @Test
+    void shouldAnswerConditionalRequestsWithNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get("/mcp-servers/Avatar/icon").param("size", "32"))
+            .andExpect(status().isOk())
+            .andReturn();
+        String etag = result.getResponse().getHeader("ETag");
+        String lastModified = result.getResponse().getHeader("Last-Modified");
+
+        mockMvc.perform(get("/mcp-servers/Avatar/icon").param("size", "32").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/mcp-servers/Avatar/icon").param("size", "32").header("If-Modified-Since", lastModified))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldRejectUnknownServersMissingIconsAndBadSizes() throws Exception {
+        mockMvc.perform(get("/mcp-servers/Nobody/icon"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/mcp-servers/Broken/icon"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/mcp-servers/Avatar/icon").param("size", "4096"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReferenceProxiedIconsOnListPage() throws Exception {
+        mockMvc.perform(get("/mcp-servers"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("src=\"/mcp-servers/Avatar/icon?size=64\"")))
+            .andExpect(content().string(containsString("src=\"/mcp-servers/Spaced%20Name/icon?size=64\"")))
+            .andExpect(content().string(not(containsString("/avatar.png"))));
+        mockMvc.perform(get("/mcp-servers/{name}/icon", "Spaced Name"))
+            .andExpect(status().isOk());
+    }
+}
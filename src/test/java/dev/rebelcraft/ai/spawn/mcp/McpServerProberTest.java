@@ -0,0 +1,246 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import dev.rebelcraft.ai.spawn.catalog.CatalogDirectory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:spawn-mcp-prober-test",
+    "spawn.mcp.probe.timeout=PT0.5S"
+})
+@AutoConfigureMockMvc
+public class McpServerProberTest {
+
+    private static final String MCP_SERVERS =
+        "Name,Icon,Description\n"
+        + "Fast,https://example.com/fast.png,Answers at once\n"
+        + "Slow,https://example.com/slow.png,Answers after the timeout\n"
+        + "Down,https://example.com/down.png,Nothing listening\n"
+        + "Local,https://example.com/local.png,Runs over stdio\n";
+    private static final String HTTP_TEMPLATE =
+        "{\"servers\": {\"%s\": {\"type\": \"http\", \"url\": \"%s\"}}, \"inputs\": []}";
+    private static final String STDIO_TEMPLATE =
+        "{\"servers\": {\"local\": {\"type\": \"stdio\", \"command\": \"local-mcp\"}}, \"inputs\": []}";
+
+    private static final long DELAY_MILLIS = 200;
+
+    private static final HttpServer stub;
+    private static final Path directory;
+
+    static {
+        try {
+            stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+            stub.createContext("/ok", exchange -> {
+                exchange.sendResponseHeaders(405, -1);
+                exchange.close();
+            });
+            stub.createContext("/delayed", exchange -> {
+                sleep(DELAY_MILLIS);
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            });
+            stub.createContext("/slow", exchange -> {
+                sleep(2_000);
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            });
+            stub.setExecutor(Executors.newCachedThreadPool());
+            stub.start();
+
+            directory = Files.createTempDirectory("spawn-probe-catalog");
+            Files.writeString(directory.resolve(CatalogDirectory.MCP_SERVERS_FILE), MCP_SERVERS);
+            Path templates = Files.createDirectory(directory.resolve(CatalogDirectory.TEMPLATES_DIR));
+            Files.writeString(templates.resolve("fast.json"), HTTP_TEMPLATE.formatted("fast", stubUri("/ok")));
+            Files.writeString(templates.resolve("slow.json"), HTTP_TEMPLATE.formatted("slow", stubUri("/slow")));
+            Files.writeString(templates.resolve("down.json"), HTTP_TEMPLATE.formatted("down",
+                "http://127.0.0.1:" + unusedPort() + "/mcp"));
+            Files.writeString(templates.resolve("local.json"), STDIO_TEMPLATE);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void catalogDirectory(DynamicPropertyRegistry registry) {
+        registry.add("spawn.catalog.directory", directory::toString);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Autowired
+    private McpServerProber prober;
+
+    @Autowired
+    private McpServerService mcpServerService;
+
+    @Autowired
+    private McpTemplateService templateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldRecordLatencyAndStatusPerServer() {
+        Map<String, McpServerProbe> probes = prober.probeAll();
+
+        // Servers without HTTP endpoints are not probed
+        assertThat(probes).containsOnlyKeys("Fast", "Slow", "Down");
+
+        McpServerProbe fast = probes.get("Fast");
+        assertThat(fast.isReachable()).isTrue();
+        assertThat(fast.getStatusCode()).isEqualTo(405);
+        assertThat(fast.getCheckedAt()).isNotNull();
+
+        McpServerProbe slow = probes.get("Slow");
+        assertThat(slow.isReachable()).isFalse();
+        assertThat(slow.getError()).startsWith("Timed out");
+        assertThat(slow.getLatencyMillis()).isLessThan(2_000);
+
+        assertThat(probes.get("Down").isReachable()).isFalse();
+        assertThat(prober.getProbe("Fast")).containsSame(fast);
+    }
+
+    @Test
+    void shouldProbeEndpointsConcurrently() throws Exception {
+        int servers = 20;
+        Map<String, List<URI>> endpoints = new LinkedHashMap<>();
+        for (int i = 0; i < servers; i++) {
+            endpoints.put("server-" + i, List.of(URI.create(stubUri("/delayed"))));
+        }
+        // Timeout far above the stub delay, so a loaded machine cannot turn a slow answer into a failure
+        McpServerProber patient = new McpServerProber(mcpServerService, templateService, objectMapper,
+            false, Duration.ofSeconds(10), 64);
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, McpServerProbe> probes = patient.probe(endpoints);
+            long elapsed = System.currentTimeMillis() - start;
+
+            assertThat(probes).hasSize(servers);
+            // One after another would take at least servers x delay
+            assertThat(elapsed).isLessThan(servers * DELAY_MILLIS);
+        } finally {
+            patient.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReportUnreachableWhenAnyEndpointFails() throws Exception {
+        Map<String, McpServerProbe> probes = prober.probe(Map.of("Mixed", List.of(
+            URI.create(stubUri("/ok")), URI.create(stubUri("/slow")))));
+
+        assertThat(probes.get("Mixed").isReachable()).isFalse();
+    }
+
+    @Test
+    void shouldKeepStoredProbesWhenInterrupted() {
+        Map<String, McpServerProbe> stored = prober.probeAll();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThat(prober.probeAll()).isEmpty();
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertThat(prober.getProbes()).isEqualTo(stored);
+    }
+
+    @Test
+    void shouldReturnPermitsOfRequestsCancelledByInterrupt() throws Exception {
+        // One permit, so the second endpoint waits while the first is in flight
+        McpServerProber single = new McpServerProber(mcpServerService, templateService, objectMapper,
+            false, Duration.ofSeconds(10), 1);
+        try {
+            Thread prober = new Thread(() -> {
+                try {
+                    Map<String, List<URI>> endpoints = new LinkedHashMap<>();
+                    endpoints.put("Slow", List.of(URI.create(stubUri("/slow"))));
+                    endpoints.put("Waiting", List.of(URI.create(stubUri("/slow"))));
+                    single.probe(endpoints);
+                } catch (InterruptedException e) {
+                    // Expected
+                }
+            });
+            prober.start();
+            Thread.sleep(200);
+            prober.interrupt();
+            prober.join(5_000);
+
+            // Would wait forever for the permit if the cancelled request kept it
+            CompletableFuture<Map<String, McpServerProbe>> next = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return single.probe(Map.of("Fast", List.of(URI.create(stubUri("/ok")))));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertThat(next.get(5, TimeUnit.SECONDS).get("Fast").isReachable()).isTrue();
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void shouldShowProbeResultsOnListPage() throws Exception {
+        prober.probeAll();
+
+        mockMvc.perform(get("/mcp-servers"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Status")))
+            .andExpect(content().string(containsString(" ms</span>")))
+            .andExpect(content().string(containsString("Unreachable")));
+    }
+
+    private static String stubUri(String path) {
+        return "http://127.0.0.1:" + stub.getAddress().getPort() + path;
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpServerSearchIndexTest {
+
+    private final McpServerSearchIndex index = new McpServerSearchIndex(List.of(
+        server("GitHub", "Official GitHub MCP server for repositories and issues"),
+        server("Git", "Work with Git repositories"),
+        server("Azure MCP Server", "Manage Azure resources"),
+        server("Azure DevOps", "Interact with Azure DevOps work items"),
+        server("Monday.com", "Enable AI agents to work with boards")
+    ));
+
+    @Test
+    void shouldMatchWordPrefixesInNameOrDescription() {
+        assertThat(names(index.search("repo"))).containsExactly("GitHub", "Git");
+        assertThat(names(index.search("boards"))).containsExactly("Monday.com");
+    }
+
+    @Test
+    void shouldRequireEveryQueryWord() {
+        assertThat(names(index.search("azure work"))).containsExactly("Azure DevOps");
+        assertThat(names(index.search("azure nothing"))).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreCaseAndPunctuation() {
+        assertThat(names(index.search("MONDAY.COM"))).containsExactly("Monday.com");
+        assertThat(names(index.search("  "))).isEmpty();
+    }
+
+    @Test
+    void shouldSuggestNamesStartingWithQueryFirst() {
+        assertThat(names(index.suggest("git", 10))).containsExactly("Git", "GitHub");
+        assertThat(names(index.suggest("mcp", 10))).containsExactly("Azure MCP Server");
+        assertThat(names(index.suggest("azure", 1))).containsExactly("Azure DevOps");
+    }
+
+    @Test
+    void shouldNotSuggestFromDescriptions() {
+        assertThat(index.suggest("repositories", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldSearchLargeCatalogs() {
+        List<McpServer> servers = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            servers.add(server("server-" + i, "Generated server number " + i + (i % 1000 == 0 ? " special" : "")));
+        }
+        McpServerSearchIndex large = new McpServerSearchIndex(servers);
+
+        assertThat(large.search("special")).hasSize(50);
+        assertThat(names(large.suggest("server 4999", 3))).containsExactly("server-4999", "server-49990", "server-49991");
+    }
+
+    private static McpServer server(String name, String description) {
+        return new McpServer(name, "https://example.com/" + name + ".png", description);
+    }
+
+    private static List<String> names(List<McpServer> servers) {
+        return servers.stream().map(McpServer::getName).toList();
+    }
+}
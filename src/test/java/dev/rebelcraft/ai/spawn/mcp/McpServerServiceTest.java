@@ -0,0 +1,84 @@
+package dev.rebelcraft.ai.spawn.mcp;
+
+import dev.rebelcraft.ai.spawn.catalog.CatalogChangedEvent;
+import dev.rebelcraft.ai.spawn.catalog.CatalogDirectory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@SpringBootTest
+public class McpServerServiceTest {
+
+    @Autowired
+    private McpServerService mcpServerService;
+
+    @SpyBean
+    private McpTemplateService templateService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void shouldJoinServersToTemplatesByNormalizedName() {
+        assertThat(mcpServerService.getMcpServerByName("Azure MCP Server"))
+            .get()
+            .satisfies(server -> {
+                assertThat(server.isTemplateAvailable()).isTrue();
+                assertThat(server.getTemplateFilename()).isEqualTo("azure-mcp-server.json");
+            });
+        assertThat(mcpServerService.getMcpServerByName("Stripe"))
+            .get()
+            .satisfies(server -> {
+                assertThat(server.isTemplateAvailable()).isFalse();
+                assertThat(server.getTemplateFilename()).isNull();
+            });
+    }
+
+    @Test
+    void shouldBuildResponsesWithoutTemplateLookups() {
+        clearInvocations(templateService);
+
+        List<McpServerResponse> servers = mcpServerService.getAllMcpServers();
+
+        assertThat(servers)
+            .filteredOn(McpServerResponse::isTemplateAvailable)
+            .extracting(McpServerResponse::getName)
+            .containsExactlyInAnyOrder("GitHub", "Azure MCP Server");
+        verifyNoInteractions(templateService);
+    }
+
+    @Test
+    void shouldFindUnmatchedNamesIgnoringCase() {
+        McpServerCatalog catalog = mcpServerService.getCatalog();
+
+        assertThat(catalog.isKnown("github")).isTrue();
+        assertThat(catalog.isKnown("AZURE MCP SERVER")).isTrue();
+        assertThat(catalog.isKnown("Nope")).isFalse();
+        assertThat(catalog.unmatchedNames(List.of("GitHub", "Nope", "stripe", "Other")))
+            .containsExactlyInAnyOrder("Nope", "Other");
+        assertThat(catalog.unmatchedNames(List.of("GitHub", "stripe"))).isSameAs(Set.of());
+    }
+
+    @Test
+    void shouldPublishNewSnapshotVersionOnReload() {
+        McpServerCatalog before = mcpServerService.getCatalog();
+
+        eventPublisher.publishEvent(new CatalogChangedEvent(Set.of(CatalogDirectory.TEMPLATES_DIR)));
+
+        McpServerCatalog after = mcpServerService.getCatalog();
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getVersion()).isGreaterThan(before.getVersion());
+        assertThat(after.getServers()).hasSameSizeAs(before.getServers());
+        // Snapshots already handed out do not change
+        assertThat(before.isKnown("GitHub")).isTrue();
+    }
+}
@@ -78,4 +78,16 @@ class McpServerTemplateIntegrationTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("View Template")))
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("/mcp-servers/GitHub/template")));
     }
+
+    @Test
+    void shouldReportTemplateCacheStats() throws Exception {
+        mockMvc.perform(get("/mcp-servers/GitHub/template"));
+        mockMvc.perform(get("/mcp-servers/GitHub/template"));
+
+        mockMvc.perform(get("/mcp-servers/template-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.output.hits").value(org.hamcrest.Matchers.greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.output.maxWeight").value(256))
+                .andExpect(jsonPath("$.templates.size").value(org.hamcrest.Matchers.greaterThanOrEqualTo(1)));
+    }
 }
@@ -1,14 +1,22 @@
 package dev.rebelcraft.ai.spawn.mcp;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.rebelcraft.ai.spawn.catalog.CatalogDirectory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,7 +33,7 @@ class McpTemplateServiceTest {
 
     @BeforeEach
     void setUp() {
-        templateService = new McpTemplateService(resourceResolver, objectMapper);
+        templateService = new McpTemplateService(resourceResolver, objectMapper, new CatalogDirectory(""), 1, 2);
         templateService.loadTemplates();
     }
 
@@ -130,4 +138,201 @@ class McpTemplateServiceTest {
         assertNotNull(compiled);
         assertTrue(compiled.contains("https://example.com"), "Should compile template without inputs");
     }
+
+    @Test
+    void shouldCompileToPrettyPrintedJson() {
+        McpTemplate template = templateService.getTemplateForServer("GitHub").orElseThrow();
+
+        String compiled = templateService.compileTemplate(template);
+
+        String expected = String.join(System.lineSeparator(),
+            "{",
+            "  \"servers\" : {",
+            "    \"github\" : {",
+            "      \"type\" : \"http\",",
+            "      \"url\" : \"https://api.github.com/mcp/\",",
+            "      \"headers\" : {",
+            "        \"Authorization\" : \"Bearer *****\"",
+            "      }",
+            "    }",
+            "  }",
+            "}");
+        assertEquals(expected, compiled);
+    }
+
+    @Test
+    void shouldWriteCompiledServersWithSuppliedInputs() throws Exception {
+        McpTemplate template = new McpTemplate();
+        template.setServers(Map.of(
+            "test", Map.of(
+                "url", "${input:host}:${input:port}/${input:missing}",
+                "args", java.util.List.of("--port", "${input:port}"),
+                "retries", 3,
+                "enabled", true
+            )
+        ));
+        template.setInputs(null);
+
+        java.io.StringWriter json = new java.io.StringWriter();
+        try (com.fasterxml.jackson.core.JsonGenerator generator = objectMapper.createGenerator(json)) {
+            templateService.getCompiledTemplate(template)
+                .writeServers(generator, Map.of("host", "localhost", "port", "8080"));
+        }
+
+        Map<?, ?> servers = objectMapper.readValue(json.toString(), Map.class);
+        Map<?, ?> test = (Map<?, ?>) servers.get("test");
+        assertEquals("localhost:8080/<missing>", test.get("url"));
+        assertEquals(java.util.List.of("--port", "8080"), test.get("args"));
+        assertEquals(3, test.get("retries"));
+        assertEquals(true, test.get("enabled"));
+    }
+
+    @Test
+    void shouldServeRepeatedRendersFromCache() {
+        McpTemplate template = templateService.getTemplateForServer("GitHub").orElseThrow();
+
+        String first = templateService.compileTemplate(template);
+        String second = templateService.compileTemplate(template);
+
+        assertSame(first, second);
+        assertEquals(1, templateService.getOutputCacheStats().getMisses());
+        assertEquals(1, templateService.getOutputCacheStats().getHits());
+    }
+
+    @Test
+    void shouldCacheRendersPerResolvedInputs() {
+        McpTemplate template = templateService.getTemplateForServer("GitHub").orElseThrow();
+
+        String masked = templateService.compileTemplate(template);
+        String withToken = templateService.compileTemplate(template, Map.of("github_mcp_pat", "secret"));
+        // Supplying the default explicitly resolves to the same inputs as supplying nothing
+        String defaulted = templateService.compileTemplate(template, Map.of("github_mcp_pat", "*****"));
+
+        assertTrue(withToken.contains("Bearer secret"));
+        assertFalse(masked.contains("secret"));
+        assertSame(masked, defaulted);
+        assertEquals(2, templateService.getOutputCacheStats().getMisses());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedRenders() {
+        McpTemplate template = templateService.getTemplateForServer("GitHub").orElseThrow();
+
+        templateService.compileTemplate(template, Map.of("github_mcp_pat", "a"));
+        templateService.compileTemplate(template, Map.of("github_mcp_pat", "b"));
+        templateService.compileTemplate(template, Map.of("github_mcp_pat", "c"));
+
+        assertEquals(2, templateService.getOutputCacheStats().getSize());
+        assertEquals(1, templateService.getOutputCacheStats().getEvictions());
+    }
+
+    @Test
+    void shouldInvalidateCachedRendersOnReload() {
+        McpTemplate before = templateService.getTemplateForServer("GitHub").orElseThrow();
+        templateService.compileTemplate(before);
+
+        templateService.loadTemplates();
+        McpTemplate after = templateService.getTemplateForServer("GitHub").orElseThrow();
+        templateService.compileTemplate(after);
+
+        assertNotSame(before, after);
+        assertEquals(0, templateService.getOutputCacheStats().getHits());
+        assertEquals(1, templateService.getOutputCacheStats().getSize());
+    }
+
+    @Test
+    void shouldNotCacheTemplatesThatWereNotLoaded() {
+        McpTemplate template = new McpTemplate();
+        template.setServers(Map.of("simple", Map.of("url", "https://example.com")));
+
+        templateService.compileTemplate(template);
+        templateService.compileTemplate(template);
+
+        assertEquals(0, templateService.getOutputCacheStats().getSize());
+    }
+
+    @Test
+    void shouldIndexTemplatesWithoutParsingThem() {
+        assertEquals(Optional.of("azure-mcp-server.json"), templateService.getTemplateFilenameForServer("Azure MCP Server"));
+
+        assertEquals(0, templateService.getTemplateCacheStats().getSize());
+        assertEquals(0, templateService.getTemplateCacheStats().getMisses());
+    }
+
+    @Test
+    void shouldParseTemplatesOnFirstAccessOnly() {
+        McpTemplate first = templateService.getTemplateForServer("GitHub").orElseThrow();
+        McpTemplate second = templateService.getTemplateForServer("github").orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1, templateService.getTemplateCacheStats().getMisses());
+        assertEquals(1, templateService.getTemplateCacheStats().getHits());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedTemplates() {
+        McpTemplate github = templateService.getTemplateForServer("GitHub").orElseThrow();
+        templateService.getTemplateForServer("azure-mcp-server").orElseThrow();
+        McpTemplate reloaded = templateService.getTemplateForServer("GitHub").orElseThrow();
+
+        assertNotSame(github, reloaded);
+        assertEquals(1, templateService.getTemplateCacheStats().getSize());
+        assertEquals(2, templateService.getTemplateCacheStats().getEvictions());
+        // An evicted template still renders from its own compiled form
+        assertTrue(templateService.compileTemplate(github).contains("https://api.github.com/"));
+    }
+
+    @Test
+    void shouldNotCacheTemplatesParsedAcrossAReload() {
+        // The first template read triggers a reload, as if the catalog changed mid-parse
+        AtomicReference<McpTemplateService> service = new AtomicReference<>();
+        AtomicBoolean reloadOnRead = new AtomicBoolean(true);
+        ResourcePatternResolver reloadingResolver = new ResourcePatternResolver() {
+            @Override
+            public Resource[] getResources(String locationPattern) throws IOException {
+                return Arrays.stream(resourceResolver.getResources(locationPattern))
+                    .map(resource -> new AbstractResource() {
+                        @Override
+                        public String getFilename() {
+                            return resource.getFilename();
+                        }
+
+                        @Override
+                        public String getDescription() {
+                            return resource.getDescription();
+                        }
+
+                        @Override
+                        public InputStream getInputStream() throws IOException {
+                            if (reloadOnRead.getAndSet(false)) {
+                                service.get().loadTemplates();
+                            }
+                            return resource.getInputStream();
+                        }
+                    })
+                    .toArray(Resource[]::new);
+            }
+
+            @Override
+            public Resource getResource(String location) {
+                return resourceResolver.getResource(location);
+            }
+
+            @Override
+            public ClassLoader getClassLoader() {
+                return resourceResolver.getClassLoader();
+            }
+        };
+        service.set(new McpTemplateService(reloadingResolver, objectMapper, new CatalogDirectory(""), 1, 2));
+        service.get().loadTemplates();
+
+        McpTemplate stale = service.get().getTemplateForServer("GitHub").orElseThrow();
+        McpTemplate fresh = service.get().getTemplateForServer("GitHub").orElseThrow();
+
+        assertNotSame(stale, fresh);
+        assertEquals(1, service.get().getTemplateCacheStats().getSize());
+        assertEquals(1, service.get().getTemplateCacheStats().getMisses());
+        service.get().compileTemplate(stale);
+        assertEquals(0, service.get().getOutputCacheStats().getSize());
+    }
 }
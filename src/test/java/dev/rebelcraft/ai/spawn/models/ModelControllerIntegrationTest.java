@@ -24,4 +24,25 @@ class ModelControllerIntegrationTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("Anthropic Claude")))
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("OpenAI")));
     }
+
+    @Test
+    void shouldFilterModelsByCapabilities() throws Exception {
+        mockMvc.perform(get("/models")
+                .param("tools", "yes")
+                .param("streaming", "yes")
+                .param("local", "yes"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Ollama")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("DeepSeek (OpenAI-proxy)")))
+                .andExpect(content().string(org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("Anthropic Claude"))))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Clear filters")));
+    }
+
+    @Test
+    void shouldRejectInvalidFilterValue() throws Exception {
+        mockMvc.perform(get("/models").param("local", "maybe"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Invalid value for local: maybe")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Anthropic Claude")));
+    }
 }
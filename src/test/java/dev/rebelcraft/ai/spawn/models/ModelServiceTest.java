@@ -0,0 +1,166 @@
+package dev.rebelcraft.ai.spawn.models;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class ModelServiceTest {
+
+    @Autowired
+    private ModelService modelService;
+
+    @Autowired
+    private ModelFavoriteRepository favoriteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldFindModelByProviderIgnoringCase() {
+        assertThat(modelService.getModelByProvider("openai"))
+            .get()
+            .extracting(ModelResponse::getProvider)
+            .isEqualTo("OpenAI");
+        assertThat(modelService.getModelByProvider("No Such Provider")).isEmpty();
+    }
+
+    @Test
+    void shouldNotQueryForUnknownProvider() {
+        Statistics statistics = startCounting();
+
+        modelService.getModelByProvider("No Such Provider");
+
+        assertThat(stopCounting(statistics)).isZero();
+    }
+
+    @Test
+    void shouldResolveManyProvidersWithoutQueries() {
+        modelService.addFavorite("anthropic claude");
+        try {
+            Statistics statistics = startCounting();
+
+            Map<String, ModelResponse> models = modelService.getModelsByProviders(
+                List.of("OpenAI", "anthropic claude", "No Such Provider"));
+
+            assertThat(stopCounting(statistics)).isZero();
+            assertThat(models).containsOnlyKeys("OpenAI", "anthropic claude");
+            assertThat(models.get("anthropic claude").getProvider()).isEqualTo("Anthropic Claude");
+            assertThat(models.get("anthropic claude").isFavorite()).isTrue();
+        } finally {
+            modelService.removeFavorite("Anthropic Claude");
+        }
+        assertThat(modelService.getModelByProvider("Anthropic Claude").orElseThrow().isFavorite()).isFalse();
+    }
+
+    @Test
+    void shouldListModelsWithoutQueries() {
+        modelService.getAllModels();
+        Statistics statistics = startCounting();
+
+        List<ModelResponse> models = modelService.getAllModels();
+
+        assertThat(stopCounting(statistics)).isZero();
+        assertThat(models).isNotEmpty();
+    }
+
+    @Test
+    void shouldKeepFavoritesInSyncUnderConcurrentToggles() throws Exception {
+        int toggles = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < toggles; i++) {
+                boolean add = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (add) {
+                        modelService.addFavorite("Ollama");
+                    } else {
+                        modelService.removeFavorite("Ollama");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        boolean stored = favoriteRepository.existsByProvider("Ollama");
+        assertThat(modelService.getModelByProvider("Ollama").orElseThrow().isFavorite()).isEqualTo(stored);
+        modelService.removeFavorite("Ollama");
+    }
+
+    @Test
+    void shouldValidateProvidersWithoutQueries() {
+        Statistics statistics = startCounting();
+
+        modelService.validateProviders(Set.of("OpenAI", "ANTHROPIC CLAUDE"));
+
+        assertThat(stopCounting(statistics)).isZero();
+        assertThatThrownBy(() -> modelService.validateProviders(Set.of("OpenAI", "No Such Provider")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Model provider not found: No Such Provider");
+    }
+
+    @Test
+    void shouldSearchModelsByCapabilityBits() {
+        ModelFilter filter = ModelFilter.fromParams(Map.of("tools", "yes", "streaming", "yes", "local", "yes"));
+
+        ModelSearchResult result = modelService.searchModels(filter);
+
+        assertThat(result.getModels()).extracting(ModelResponse::getProvider)
+            .containsExactly("DeepSeek (OpenAI-proxy)", "Ollama");
+        assertThat(result.getFacetCounts())
+            .containsEntry(ModelCapability.LOCAL, 2)
+            .containsEntry(ModelCapability.IMAGE, 1)
+            .containsEntry(ModelCapability.VIDEO, 0);
+        assertThat(filter.toQueryString()).isEqualTo("tools=yes&streaming=yes&local=yes");
+    }
+
+    @Test
+    void shouldExcludeCapabilitiesAndCountWholeCatalog() {
+        ModelSearchResult all = modelService.searchModels(ModelFilter.NONE);
+        ModelSearchResult withoutTools = modelService.searchModels(ModelFilter.fromParams(Map.of("tools", "no")));
+
+        assertThat(all.getModels()).hasSize(modelService.getAllModels().size());
+        assertThat(withoutTools.getModels()).extracting(ModelResponse::getProvider)
+            .contains("HuggingFace", "QianFan")
+            .doesNotContain("OpenAI");
+        assertThat(withoutTools.getModels()).hasSize(
+            all.getModels().size() - all.getFacetCounts().get(ModelCapability.TOOLS));
+    }
+
+    private Statistics startCounting() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private long stopCounting(Statistics statistics) {
+        long count = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return count;
+    }
+}
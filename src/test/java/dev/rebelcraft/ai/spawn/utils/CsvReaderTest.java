@@ -0,0 +1,100 @@
+package dev.rebelcraft.ai.spawn.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void shouldSplitUnquotedFields() throws IOException {
+        assertThat(readAll("a,b,c\n1,2,3\n"))
+            .containsExactly(new String[]{"a", "b", "c"}, new String[]{"1", "2", "3"});
+    }
+
+    @Test
+    void shouldKeepSeparatorsInsideQuotedFields() throws IOException {
+        assertThat(readAll("OpenAI,\"text, image\",yes\n"))
+            .containsExactly(new String[]{"OpenAI", "text, image", "yes"});
+    }
+
+    @Test
+    void shouldUnescapeDoubledQuotes() throws IOException {
+        assertThat(readAll("\"Say \"\"hi\"\"\",\"\"\"\"\n"))
+            .containsExactly(new String[]{"Say \"hi\"", "\""});
+    }
+
+    @Test
+    void shouldReadQuotedFieldsSpanningLines() throws IOException {
+        assertThat(readAll("\"GitHub\",\"line one\r\nline two\"\r\n\"Next\",\"x\""))
+            .containsExactly(new String[]{"GitHub", "line one\r\nline two"}, new String[]{"Next", "x"});
+    }
+
+    @Test
+    void shouldHandleCrLfAndMissingTrailingNewline() throws IOException {
+        assertThat(readAll("a,b\r\nc,d"))
+            .containsExactly(new String[]{"a", "b"}, new String[]{"c", "d"});
+    }
+
+    @Test
+    void shouldReturnEmptyFields() throws IOException {
+        assertThat(readAll(",,\n\n"))
+            .containsExactly(new String[]{"", "", ""}, new String[]{""});
+    }
+
+    @Test
+    void shouldKeepQuotesThatDoNotStartAField() throws IOException {
+        assertThat(readAll("5\" screen,x\n"))
+            .containsExactly(new String[]{"5\" screen", "x"});
+    }
+
+    @Test
+    void shouldReadRecordsLargerThanTheBuffer() throws IOException {
+        String longField = "x".repeat(20_000);
+        assertThat(readAll("\"" + longField + "\",y\n"))
+            .containsExactly(new String[]{longField, "y"});
+    }
+
+    @Test
+    void shouldStreamManyRecords() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            csv.append("\"Server ").append(i).append("\",\"https://example.com/").append(i)
+                .append("\",\"Description, with comma\"\n");
+        }
+
+        int count = 0;
+        try (CsvReader reader = new CsvReader(new StringReader(csv.toString()))) {
+            String[] record;
+            while ((record = reader.readRecord()) != null) {
+                assertThat(record).hasSize(3);
+                count++;
+            }
+        }
+        assertThat(count).isEqualTo(100_000);
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuotedField() {
+        assertThatThrownBy(() -> readAll("\"open,field\n"))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Unterminated");
+    }
+
+    private static List<String[]> readAll(String csv) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            String[] record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}